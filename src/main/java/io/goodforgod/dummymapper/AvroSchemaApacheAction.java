@@ -25,4 +25,10 @@ public IMapper getMapper() {
     protected String format() {
         return "AVRO Schema (Apache)";
     }
+
+    @NotNull
+    @Override
+    protected String fileExtension() {
+        return "avsc";
+    }
 }
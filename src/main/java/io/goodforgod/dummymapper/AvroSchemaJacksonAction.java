@@ -34,4 +34,10 @@ protected AvroJacksonConfig getConfig() {
     protected String format() {
         return "AVRO Schema (Jackson)";
     }
+
+    @NotNull
+    @Override
+    protected String fileExtension() {
+        return "avsc";
+    }
 }
@@ -34,4 +34,10 @@ protected GraphQLConfig getConfig() {
     protected String format() {
         return "GraphQL";
     }
+
+    @NotNull
+    @Override
+    protected String fileExtension() {
+        return "graphqls";
+    }
 }
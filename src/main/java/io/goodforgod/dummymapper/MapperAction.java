@@ -5,23 +5,35 @@
 import com.intellij.notification.Notifications;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptor;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.MessageType;
 import com.intellij.openapi.ui.popup.util.PopupUtil;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
 import io.dummymaker.util.StringUtils;
 import io.goodforgod.dummymapper.error.JavaFileException;
 import io.goodforgod.dummymapper.error.JavaKindException;
 import io.goodforgod.dummymapper.error.MapperException;
 import io.goodforgod.dummymapper.mapper.IMapper;
 import io.goodforgod.dummymapper.marker.RawMarker;
-import io.goodforgod.dummymapper.scanner.impl.PsiJavaFileScanner;
+import io.goodforgod.dummymapper.service.ScanCacheService;
 import io.goodforgod.dummymapper.ui.ConfigDialog;
 import io.goodforgod.dummymapper.ui.config.IConfig;
 import io.goodforgod.dummymapper.util.IdeaUtils;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Collection;
+import java.util.Set;
 import java.util.StringJoiner;
 import javax.swing.*;
 import org.jetbrains.annotations.NotNull;
@@ -35,7 +47,7 @@
  */
 public abstract class MapperAction<T extends IConfig> extends AnAction {
 
-    private static final String DISPLAY_GROUP_ERROR = "DummyMapping Plugin Errors";
+    static final String DISPLAY_GROUP_ERROR = "DummyMapping Plugin Errors";
     private static final String ISSUE_URL = "https://github.com/GoodforGod/DummyMapper/issues";
 
     public MapperAction() {
@@ -65,6 +77,14 @@ protected String emptyResultMessage() {
         return "No fields found to map for " + format();
     }
 
+    /**
+     * @return extension of files for mapped classes when mapping directories
+     */
+    @NotNull
+    protected String fileExtension() {
+        return "json";
+    }
+
     protected String configDialogTitle() {
         return format() + " Options";
     }
@@ -78,57 +98,145 @@ protected T getConfig() {
     }
 
     /**
-     * Performs mapping action for override mapper
+     * Performs mapping action for override mapper, scanning and mapping are executed as cancellable
+     * background task so IDE is not blocked by heavy classes
+     * <p>
+     * If fields of class are selected in editor, only selected fields are mapped
      * 
      * @param event from IDE
      */
     @Override
     public void actionPerformed(@NotNull AnActionEvent event) {
         try {
+            final VirtualFile[] selected = IdeaUtils.getFilesFromAction(event);
+            if (selected.length > 1 || (selected.length == 1 && selected[0].isDirectory())) {
+                actionPerformedBatch(event, selected);
+                return;
+            }
+
             final PsiClass psiClass = IdeaUtils.getPsiClassFromAction(event)
                     .orElseGet(() -> IdeaUtils.getFileFromAction(event)
                             .filter(file -> file.getClasses().length != 0)
                             .map(file -> file.getClasses()[0])
                             .orElseThrow(JavaFileException::new));
 
+            final Set<String> fields = IdeaUtils.getSelectedFields(event, psiClass);
             final T config = getConfig();
-            if (config != null) {
-                final Project project = event.getProject();
-                final Collection<JComponent> components = config.getComponents();
-                final ConfigDialog dialog = new ConfigDialog(project, configDialogTitle(), components);
-                dialog.show();
-                if (dialog.getExitCode() == 1)
-                    return;
-
-                dialog.disposeIfNeeded();
-            }
-
-            final RawMarker marker = new PsiJavaFileScanner().scan(psiClass);
-            final String json = getMapper().map(marker, config);
-            if (StringUtils.isEmpty(json)) {
-                PopupUtil.showBalloonForActiveFrame(emptyResultMessage(), MessageType.WARNING);
+            if (!showConfigDialog(event.getProject(), config))
                 return;
-            }
 
-            IdeaUtils.copyToClipboard(json);
-            PopupUtil.showBalloonForActiveFrame(successMessage(), MessageType.INFO);
-        } catch (MapperException | JavaFileException | JavaKindException e) {
-            if (StringUtils.isEmpty(e.getMessage()))
-                throw new IllegalArgumentException("Unknown error occurred", e);
-
-            PopupUtil.showBalloonForActiveFrame(e.getMessage(), MessageType.WARNING);
+            final Project project = psiClass.getProject();
+            final SmartPsiElementPointer<PsiClass> pointer = SmartPointerManager.createPointer(psiClass);
+            ProgressManager.getInstance().run(new Task.Backgroundable(project, "Mapping to " + format(), true) {
+
+                private String result;
+
+                @Override
+                public void run(@NotNull ProgressIndicator indicator) {
+                    indicator.setIndeterminate(true);
+                    indicator.setText("Scanning class structure");
+                    final RawMarker marker = ReadAction.nonBlocking(() -> {
+                        final PsiClass target = pointer.getElement();
+                        if (target == null)
+                            throw new JavaFileException();
+
+                        return ScanCacheService.getInstance(project).scan(target, fields);
+                    }).inSmartMode(project).wrapProgress(indicator).executeSynchronously();
+
+                    indicator.checkCanceled();
+                    indicator.setText("Mapping to " + format());
+                    result = getMapper().map(marker, config);
+                }
+
+                @Override
+                public void onSuccess() {
+                    if (StringUtils.isEmpty(result)) {
+                        PopupUtil.showBalloonForActiveFrame(emptyResultMessage(), MessageType.WARNING);
+                        return;
+                    }
+
+                    IdeaUtils.copyToClipboard(result);
+                    PopupUtil.showBalloonForActiveFrame(successMessage(), MessageType.INFO);
+                }
+
+                @Override
+                public void onThrowable(@NotNull Throwable error) {
+                    onError(error);
+                }
+            });
+        } catch (ProcessCanceledException e) {
+            throw e;
         } catch (Exception e) {
-            final StringJoiner joiner = new StringJoiner("\n");
-            joiner.add("There was an error mapping file to " + format() + ".");
-            joiner.add("Please report this issue here: <b><a href=\"" + ISSUE_URL + "\">" + ISSUE_URL + "</a></b>");
-            joiner.add("Stacktrace: " + getStackTrace(e));
+            onError(e);
+        }
+    }
+
+    /**
+     * Maps all classes from selected directories and files into chosen output directory
+     *
+     * @param event    from IDE
+     * @param selected directories and files
+     */
+    private void actionPerformedBatch(@NotNull AnActionEvent event, @NotNull VirtualFile[] selected) {
+        final Project project = event.getProject();
+        if (project == null)
+            return;
+
+        final T config = getConfig();
+        if (!showConfigDialog(project, config))
+            return;
+
+        final FileChooserDescriptor descriptor = FileChooserDescriptorFactory.createSingleFolderDescriptor()
+                .withTitle("Choose Directory for " + format() + " Files");
+        final VirtualFile output = FileChooser.chooseFile(descriptor, project, null);
+        if (output == null)
+            return;
+
+        ProgressManager.getInstance().run(new MapperBatchTask<>(project, selected, output, getMapper(), config,
+                format(), fileExtension(), this::onError));
+    }
+
+    /**
+     * @param project for dialog
+     * @param config  to show options for
+     * @return false if dialog was canceled
+     */
+    private boolean showConfigDialog(@Nullable Project project, @Nullable T config) {
+        if (config == null)
+            return true;
+
+        final Collection<JComponent> components = config.getComponents();
+        final ConfigDialog dialog = new ConfigDialog(project, configDialogTitle(), components);
+        dialog.show();
+        if (dialog.getExitCode() == 1)
+            return false;
+
+        dialog.disposeIfNeeded();
+        return true;
+    }
 
-            final String title = "Failed mapping to " + format();
-            Notifications.Bus.notify(new Notification(DISPLAY_GROUP_ERROR, title, joiner.toString(), NotificationType.ERROR));
+    /**
+     * Shows known errors as warning and reports unknown errors with stacktrace as notification
+     *
+     * @param e occurred while mapping
+     */
+    protected void onError(@NotNull Throwable e) {
+        if ((e instanceof MapperException || e instanceof JavaFileException || e instanceof JavaKindException)
+                && !StringUtils.isEmpty(e.getMessage())) {
+            PopupUtil.showBalloonForActiveFrame(e.getMessage(), MessageType.WARNING);
+            return;
         }
+
+        final StringJoiner joiner = new StringJoiner("\n");
+        joiner.add("There was an error mapping file to " + format() + ".");
+        joiner.add("Please report this issue here: <b><a href=\"" + ISSUE_URL + "\">" + ISSUE_URL + "</a></b>");
+        joiner.add("Stacktrace: " + getStackTrace(e));
+
+        final String title = "Failed mapping to " + format();
+        Notifications.Bus.notify(new Notification(DISPLAY_GROUP_ERROR, title, joiner.toString(), NotificationType.ERROR));
     }
 
-    protected String getStackTrace(Exception e) {
+    protected String getStackTrace(Throwable e) {
         final StringWriter sw = new StringWriter();
         final PrintWriter pw = new PrintWriter(sw);
         e.printStackTrace(pw);
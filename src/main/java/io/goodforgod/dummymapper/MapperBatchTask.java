@@ -0,0 +1,218 @@
+package io.goodforgod.dummymapper;
+
+import com.intellij.concurrency.SensitiveProgressWrapper;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.lang.jvm.JvmClassKind;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.ui.MessageType;
+import com.intellij.openapi.ui.popup.util.PopupUtil;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.dummymaker.util.StringUtils;
+import io.goodforgod.dummymapper.error.JavaFileException;
+import io.goodforgod.dummymapper.mapper.IMapper;
+import io.goodforgod.dummymapper.marker.RawMarker;
+import io.goodforgod.dummymapper.service.ScanCacheService;
+import io.goodforgod.dummymapper.ui.config.IConfig;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Maps all classes from selected directories and files, each mapped class is written as separate
+ * file into output directory
+ * <p>
+ * Classes are scanned in parallel non-blocking read actions that share project structure cache and
+ * are mapped on bounded worker pool.
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @see ScanCacheService
+ * @since 17.10.2026
+ */
+public class MapperBatchTask<T extends IConfig> extends Task.Backgroundable {
+
+    private static final Logger LOG = Logger.getInstance(MapperBatchTask.class);
+
+    private final VirtualFile[] roots;
+    private final VirtualFile output;
+    private final IMapper<T> mapper;
+    private final T config;
+    private final String format;
+    private final String extension;
+    private final Consumer<Throwable> errorHandler;
+
+    private final AtomicInteger mapped = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final Map<String, Throwable> failed = new ConcurrentHashMap<>();
+
+    /**
+     * @param project      to map classes in
+     * @param roots        directories and files to map classes from
+     * @param output       directory where mapped files are written
+     * @param mapper       to map classes with
+     * @param config       for mapper
+     * @param format       of mapper (like JSON)
+     * @param extension    of mapped files
+     * @param errorHandler for task failure
+     */
+    public MapperBatchTask(@NotNull Project project,
+                           @NotNull VirtualFile[] roots,
+                           @NotNull VirtualFile output,
+                           @NotNull IMapper<T> mapper,
+                           @Nullable T config,
+                           @NotNull String format,
+                           @NotNull String extension,
+                           @NotNull Consumer<Throwable> errorHandler) {
+        super(project, "Mapping classes to " + format, true);
+        this.roots = roots;
+        this.output = output;
+        this.mapper = mapper;
+        this.config = config;
+        this.format = format;
+        this.extension = extension;
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(true);
+        indicator.setText("Collecting classes");
+        final Map<String, SmartPsiElementPointer<PsiClass>> classes = ReadAction.nonBlocking(this::getClasses)
+                .inSmartMode(myProject)
+                .wrapProgress(indicator)
+                .executeSynchronously();
+        if (classes.isEmpty())
+            return;
+
+        indicator.setIndeterminate(false);
+        indicator.setText("Mapping " + classes.size() + " classes to " + format);
+
+        final Path directory = Paths.get(output.getPath());
+        final ScanCacheService cache = ScanCacheService.getInstance(myProject);
+        final int threads = Math.max(1, Math.min(classes.size(), Runtime.getRuntime().availableProcessors() - 1));
+        final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("DummyMapper Batch", threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>(classes.size());
+            classes.forEach((name, pointer) -> futures.add(executor.submit(() -> {
+                final ProgressIndicator workerIndicator = new SensitiveProgressWrapper(indicator);
+                ProgressManager.getInstance().executeProcessUnderProgress(() -> {
+                    map(name, pointer, cache, directory, workerIndicator);
+                    indicator.setFraction((double) completed.incrementAndGet() / classes.size());
+                }, workerIndicator);
+            })));
+
+            for (Future<?> future : futures)
+                ProgressIndicatorUtils.awaitWithCheckCanceled(future);
+        } finally {
+            executor.shutdownNow();
+            VfsUtil.markDirtyAndRefresh(true, false, true, output);
+        }
+    }
+
+    @Override
+    public void onSuccess() {
+        final String message = mapped.get() + " classes mapped to " + format + " into " + output.getPresentableUrl();
+        if (failed.isEmpty()) {
+            PopupUtil.showBalloonForActiveFrame(message, MessageType.INFO);
+            return;
+        }
+
+        final StringJoiner joiner = new StringJoiner("\n");
+        joiner.add(message + ", failed to map " + failed.size() + " classes:");
+        failed.forEach((name, e) -> {
+            LOG.warn("Failed mapping '" + name + "' to " + format, e);
+            joiner.add(name + ": " + e.getMessage());
+        });
+
+        final String title = "Failed mapping classes to " + format;
+        Notifications.Bus.notify(new Notification(MapperAction.DISPLAY_GROUP_ERROR, title, joiner.toString(),
+                NotificationType.WARNING), myProject);
+    }
+
+    @Override
+    public void onThrowable(@NotNull Throwable error) {
+        errorHandler.accept(error);
+    }
+
+    private void map(@NotNull String name,
+                     @NotNull SmartPsiElementPointer<PsiClass> pointer,
+                     @NotNull ScanCacheService cache,
+                     @NotNull Path directory,
+                     @NotNull ProgressIndicator indicator) {
+        try {
+            final RawMarker marker = ReadAction.nonBlocking(() -> {
+                final PsiClass target = pointer.getElement();
+                if (target == null)
+                    throw new JavaFileException();
+
+                return cache.scan(target);
+            }).inSmartMode(myProject).wrapProgress(indicator).executeSynchronously();
+
+            indicator.checkCanceled();
+            final String result = mapper.map(marker, config);
+            if (StringUtils.isEmpty(result))
+                return;
+
+            Files.write(directory.resolve(name + "." + extension), result.getBytes(StandardCharsets.UTF_8));
+            mapped.incrementAndGet();
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            failed.put(name, e);
+        }
+    }
+
+    /**
+     * @return top level classes of all java files in roots, as qualified class name and its pointer
+     */
+    private @NotNull Map<String, SmartPsiElementPointer<PsiClass>> getClasses() {
+        final PsiManager psiManager = PsiManager.getInstance(myProject);
+        final ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(myProject);
+        final Map<String, SmartPsiElementPointer<PsiClass>> classes = new LinkedHashMap<>();
+        for (VirtualFile root : roots) {
+            VfsUtilCore.iterateChildrenRecursively(root, file -> !fileIndex.isExcluded(file), file -> {
+                ProgressManager.checkCanceled();
+                if (file.isDirectory() || !JavaFileType.INSTANCE.equals(file.getFileType()))
+                    return true;
+
+                final PsiFile psiFile = psiManager.findFile(file);
+                if (!(psiFile instanceof PsiJavaFile))
+                    return true;
+
+                for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+                    final String name = psiClass.getQualifiedName();
+                    if (name != null && psiClass.getClassKind() == JvmClassKind.CLASS)
+                        classes.putIfAbsent(name, SmartPointerManager.createPointer(psiClass));
+                }
+
+                return true;
+            });
+        }
+
+        return classes;
+    }
+}
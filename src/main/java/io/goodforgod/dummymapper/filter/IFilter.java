@@ -12,7 +12,7 @@
 public interface IFilter {
 
     /**
-     * @param marker to filter
+     * @param marker to filter, is not modified by filter
      * @return marker without filtered fields (all inner RawMarkers should also be ignored)
      */
     @NotNull
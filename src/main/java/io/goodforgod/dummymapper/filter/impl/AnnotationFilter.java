@@ -1,13 +1,13 @@
 package io.goodforgod.dummymapper.filter.impl;
 
 import io.goodforgod.dummymapper.marker.Marker;
-import io.goodforgod.dummymapper.marker.RawMarker;
 import io.goodforgod.dummymapper.model.AnnotationMarker;
-import java.util.Map;
+import io.goodforgod.dummymapper.util.MarkerUtils;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Filters out {@link AnnotationMarker} from {@link Marker} which are not qualified to
@@ -23,19 +23,19 @@ public abstract class AnnotationFilter extends BaseFilter {
      */
     protected abstract Predicate<AnnotationMarker> allowed();
 
-    @NotNull
+    @Nullable
     @Override
-    public RawMarker filter(@NotNull RawMarker marker) {
-        final Predicate<AnnotationMarker> allowed = allowed();
-        final Map<String, Marker> structure = marker.getStructure();
+    protected Marker filterField(@NotNull String name, @NotNull Marker marker) {
+        if (marker.getAnnotations().isEmpty())
+            return marker;
 
-        structure.forEach((k, v) -> {
-            final Set<AnnotationMarker> left = v.getAnnotations().stream()
-                    .filter(a -> allowed.test(a) || a.isInternal())
-                    .collect(Collectors.toSet());
-            v.setAnnotations(left);
-        });
+        final Predicate<AnnotationMarker> allowed = allowed();
+        final Set<AnnotationMarker> left = marker.getAnnotations().stream()
+                .filter(a -> allowed.test(a) || a.isInternal())
+                .collect(Collectors.toSet());
 
-        return filterRecursive(marker);
+        return (left.size() == marker.getAnnotations().size())
+                ? marker
+                : MarkerUtils.withAnnotations(marker, left);
     }
 }
@@ -1,16 +1,15 @@
 package io.goodforgod.dummymapper.filter.impl;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import io.goodforgod.dummymapper.marker.RawMarker;
+import io.goodforgod.dummymapper.marker.Marker;
 import io.goodforgod.dummymapper.model.AnnotationMarker;
 import io.goodforgod.dummymapper.model.AnnotationMarkerBuilder;
-import java.util.Collections;
+import io.goodforgod.dummymapper.model.KnownAnnotation;
+import io.goodforgod.dummymapper.util.MarkerUtils;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Predicate;
-import org.apache.avro.reflect.AvroIgnore;
-import org.apache.avro.reflect.Nullable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Filter structure for fields that should be ignored during AVRO schema generation
@@ -23,32 +22,27 @@ public class AvroFilter extends MarkerAnnotationFilter {
     private static final String REQUIRED_PROPERTY = "required";
 
     @Override
-    protected Predicate<AnnotationMarker> predicate() {
-        return a -> a.named(AvroIgnore.class);
+    protected KnownAnnotation annotation() {
+        return KnownAnnotation.AVRO_IGNORE;
     }
 
-    @NotNull
+    @Nullable
     @Override
-    public RawMarker filter(@NotNull RawMarker marker) {
-        marker.getStructure().forEach((k, v) -> {
-            if (v.getAnnotations().stream().anyMatch(a -> a.named(Nullable.class))) {
-                final Map<String, Object> annotationAttrs = v.getAnnotations().stream()
-                        .filter(a -> a.named(JsonProperty.class))
-                        .map(AnnotationMarker::getAttributes)
-                        .findFirst()
-                        .orElseGet(Collections::emptyMap);
-
-                final Map<String, Object> attrs = new HashMap<>(annotationAttrs);
-                attrs.put(REQUIRED_PROPERTY, false);
-
-                v.addAnnotation(AnnotationMarkerBuilder.get()
-                        .ofField()
-                        .withName(JsonProperty.class)
-                        .withAttributes(attrs)
-                        .build());
-            }
-        });
-
-        return super.filter(marker);
+    protected Marker filterField(@NotNull String name, @NotNull Marker marker) {
+        final Marker field = super.filterField(name, marker);
+        if (field == null || !field.hasAnnotation(KnownAnnotation.AVRO_NULLABLE))
+            return field;
+
+        final AnnotationMarker property = field.getAnnotation(KnownAnnotation.JSON_PROPERTY);
+        final Map<String, Object> attrs = (property == null)
+                ? new HashMap<>()
+                : new HashMap<>(property.getAttributes());
+        attrs.put(REQUIRED_PROPERTY, false);
+
+        return MarkerUtils.withAnnotation(field, AnnotationMarkerBuilder.get()
+                .ofField()
+                .withName(JsonProperty.class)
+                .withAttributes(attrs)
+                .build());
     }
 }
@@ -2,51 +2,106 @@
 
 import io.goodforgod.dummymapper.filter.IFilter;
 import io.goodforgod.dummymapper.marker.CollectionMarker;
+import io.goodforgod.dummymapper.marker.MapMarker;
 import io.goodforgod.dummymapper.marker.Marker;
 import io.goodforgod.dummymapper.marker.RawMarker;
-import io.goodforgod.dummymapper.model.AnnotationMarker;
-import io.goodforgod.dummymapper.model.AnnotationMarkerBuilder;
 import io.goodforgod.dummymapper.util.MarkerUtils;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.function.Predicate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Allow recursion filter for all {@link RawMarker} or {@link CollectionMarker} with such raw
  * markers
+ * <p>
+ * Filter does not modify given markers, only markers which fields are changed and markers that
+ * include them are copied, all other markers are shared with original structure.
  *
  * @author Anton Kurako (GoodforGod)
  * @since 1.5.2020
  */
 public abstract class BaseFilter implements IFilter {
 
-    private final String visited = "_filter_" + getClass().getSimpleName().toLowerCase() + "_visited";
-    private final Predicate<RawMarker> isVisited = m -> m.getAnnotations().stream()
-            .filter(AnnotationMarker::isInternal)
-            .anyMatch(a -> a.getName().equals(visited));
+    @NotNull
+    @Override
+    public RawMarker filter(@NotNull RawMarker marker) {
+        return filter(marker, new IdentityHashMap<>());
+    }
+
+    /**
+     * @param name   of field
+     * @param marker of field with already filtered inner markers
+     * @return marker for field, same marker if field is not changed or null if field is excluded
+     */
+    @Nullable
+    protected abstract Marker filterField(@NotNull String name, @NotNull Marker marker);
 
+    /**
+     * @param marker   to filter
+     * @param filtered markers already filtered during current filter pass and their results
+     * @return filtered marker or same marker if nothing is filtered
+     */
     @NotNull
-    public RawMarker filterRecursive(@NotNull RawMarker marker) {
-        if (isVisited.test(marker))
-            return marker;
-
-        marker.addAnnotation(AnnotationMarkerBuilder.get().ofInternal().withName(visited).build());
-        final Map<String, Marker> structure = marker.getStructure();
-
-        MarkerUtils.streamRawMarkers(structure)
-                .filter(m -> !isVisited.test(m))
-                .forEach(this::filter);
-
-        MarkerUtils.streamCollectionRawMarkers(structure)
-                .filter(m -> !isVisited.test((RawMarker) m.getErasure()))
-                .forEach(m -> filter((RawMarker) m.getErasure()));
-
-        MarkerUtils.streamMapRawMarkers(structure).forEach(m -> {
-            if (m.getKeyErasure() instanceof RawMarker && !isVisited.test(((RawMarker) m.getKeyErasure())))
-                filter((RawMarker) m.getKeyErasure());
-            if (m.getValueErasure() instanceof RawMarker && !isVisited.test(((RawMarker) m.getValueErasure())))
-                filter((RawMarker) m.getValueErasure());
-        });
+    protected RawMarker filter(@NotNull RawMarker marker, @NotNull Map<RawMarker, RawMarker> filtered) {
+        final RawMarker known = filtered.putIfAbsent(marker, marker);
+        if (known != null)
+            return known;
+
+        final int size = marker.size();
+        String[] names = null;
+        Marker[] markers = null;
+        int filteredSize = 0;
+        for (int i = 0; i < size; i++) {
+            final Marker fieldMarker = marker.getFieldMarker(i);
+            final Marker field = filterField(marker.getFieldName(i), filterInner(fieldMarker, filtered));
+            if (names == null && field != fieldMarker) { // copy unchanged fields on first change
+                names = new String[size];
+                markers = new Marker[size];
+                for (int j = 0; j < i; j++) {
+                    names[j] = marker.getFieldName(j);
+                    markers[j] = marker.getFieldMarker(j);
+                }
+                filteredSize = i;
+            }
+
+            if (names != null && field != null) {
+                names[filteredSize] = marker.getFieldName(i);
+                markers[filteredSize] = field;
+                filteredSize++;
+            }
+        }
+
+        final RawMarker filteredMarker = (names == null)
+                ? marker
+                : MarkerUtils.withStructure(marker, Arrays.copyOf(names, filteredSize), Arrays.copyOf(markers, filteredSize));
+
+        filtered.put(marker, filteredMarker);
+        return filteredMarker;
+    }
+
+    private @NotNull Marker filterInner(@NotNull Marker marker, @NotNull Map<RawMarker, RawMarker> filtered) {
+        if (marker instanceof RawMarker) {
+            return filter((RawMarker) marker, filtered);
+        } else if (marker instanceof CollectionMarker && ((CollectionMarker) marker).isRaw()) {
+            final Marker erasure = ((CollectionMarker) marker).getErasure();
+            final Marker filteredErasure = filter((RawMarker) erasure, filtered);
+            return (filteredErasure == erasure)
+                    ? marker
+                    : MarkerUtils.withErasure((CollectionMarker) marker, filteredErasure);
+        } else if (marker instanceof MapMarker && ((MapMarker) marker).isRaw()) {
+            final MapMarker mapMarker = (MapMarker) marker;
+            final Marker keyErasure = (mapMarker.getKeyErasure() instanceof RawMarker)
+                    ? filter((RawMarker) mapMarker.getKeyErasure(), filtered)
+                    : mapMarker.getKeyErasure();
+            final Marker valueErasure = (mapMarker.getValueErasure() instanceof RawMarker)
+                    ? filter((RawMarker) mapMarker.getValueErasure(), filtered)
+                    : mapMarker.getValueErasure();
+            return (keyErasure == mapMarker.getKeyErasure() && valueErasure == mapMarker.getValueErasure())
+                    ? marker
+                    : MarkerUtils.withErasures(mapMarker, keyErasure, valueErasure);
+        }
 
         return marker;
     }
@@ -0,0 +1,37 @@
+package io.goodforgod.dummymapper.filter.impl;
+
+import io.goodforgod.dummymapper.marker.Marker;
+import io.goodforgod.dummymapper.marker.RawMarker;
+import java.util.Arrays;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Applies all filters to {@link RawMarker} structure in single traversal, each field is filtered by
+ * filters in order they are specified and field excluded by any filter is not passed to next ones
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @since 17.10.2026
+ */
+public class CompositeFilter extends BaseFilter {
+
+    private final List<BaseFilter> filters;
+
+    public CompositeFilter(@NotNull BaseFilter... filters) {
+        this.filters = Arrays.asList(filters);
+    }
+
+    @Nullable
+    @Override
+    protected Marker filterField(@NotNull String name, @NotNull Marker marker) {
+        Marker field = marker;
+        for (BaseFilter filter : filters) {
+            field = filter.filterField(name, field);
+            if (field == null)
+                return null;
+        }
+
+        return field;
+    }
+}
@@ -4,8 +4,8 @@
 import io.goodforgod.dummymapper.marker.MapMarker;
 import io.goodforgod.dummymapper.marker.Marker;
 import io.goodforgod.dummymapper.marker.RawMarker;
-import java.util.Map;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Filters out empty {@link RawMarker} or if any {@link CollectionMarker} or {@link MapMarker} have
@@ -19,17 +19,16 @@ public class EmptyMarkerFilter extends BaseFilter {
     @NotNull
     @Override
     public RawMarker filter(@NotNull RawMarker marker) {
-        if (marker.isEmpty())
-            return RawMarker.EMPTY;
-
-        final RawMarker recursive = filterRecursive(marker);
-        final Map<String, Marker> structure = recursive.getStructure();
-
-        structure.entrySet().stream()
-                .filter(e -> e.getValue().isEmpty())
-                .map(Map.Entry::getKey)
-                .forEach(key -> marker.getStructure().remove(key));
+        return (marker.isEmpty())
+                ? RawMarker.EMPTY
+                : super.filter(marker);
+    }
 
-        return recursive;
+    @Nullable
+    @Override
+    protected Marker filterField(@NotNull String name, @NotNull Marker marker) {
+        return (marker.isEmpty())
+                ? null
+                : marker;
     }
 }
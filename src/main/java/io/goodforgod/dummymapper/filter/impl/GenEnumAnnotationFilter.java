@@ -1,8 +1,11 @@
 package io.goodforgod.dummymapper.filter.impl;
 
-import io.dummymaker.annotation.complex.GenEnum;
+import io.goodforgod.dummymapper.marker.Marker;
 import io.goodforgod.dummymapper.model.AnnotationMarker;
+import io.goodforgod.dummymapper.model.KnownAnnotation;
 import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author GoodforGod
@@ -12,6 +15,14 @@ public class GenEnumAnnotationFilter extends AnnotationFilter {
 
     @Override
     protected Predicate<AnnotationMarker> allowed() {
-        return a -> !a.getName().equals(GenEnum.class.getName());
+        return a -> !a.named(KnownAnnotation.GEN_ENUM);
+    }
+
+    @Nullable
+    @Override
+    protected Marker filterField(@NotNull String name, @NotNull Marker marker) {
+        return (marker.hasAnnotation(KnownAnnotation.GEN_ENUM))
+                ? super.filterField(name, marker)
+                : marker;
     }
 }
@@ -1,10 +1,13 @@
 package io.goodforgod.dummymapper.filter.impl;
 
-import io.goodforgod.dummymapper.marker.RawMarker;
+import io.goodforgod.dummymapper.marker.Marker;
 import io.goodforgod.dummymapper.model.AnnotationMarkerBuilder;
+import io.goodforgod.dummymapper.model.KnownAnnotation;
+import io.goodforgod.dummymapper.util.MarkerUtils;
 import io.leangen.graphql.annotations.GraphQLNonNull;
 import io.leangen.graphql.annotations.GraphQLQuery;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Add {@link GraphQLNonNull} if such annotation is not present on field
@@ -15,17 +18,15 @@
  */
 public class GraphQLNonNullFilter extends BaseFilter {
 
-    @NotNull
+    @Nullable
     @Override
-    public RawMarker filter(@NotNull RawMarker marker) {
-        marker.getStructure().entrySet().stream()
-                .filter(e -> e.getValue().getAnnotations().stream()
-                        .anyMatch(a -> a.named(GraphQLQuery.class)))
-                .forEach(e -> e.getValue().addAnnotation(AnnotationMarkerBuilder.get()
-                        .ofField()
-                        .withName(GraphQLNonNull.class)
-                        .build()));
+    protected Marker filterField(@NotNull String name, @NotNull Marker marker) {
+        if (!marker.hasAnnotation(KnownAnnotation.GRAPHQL_QUERY))
+            return marker;
 
-        return filterRecursive(marker);
+        return MarkerUtils.withAnnotation(marker, AnnotationMarkerBuilder.get()
+                .ofField()
+                .withName(GraphQLNonNull.class)
+                .build());
     }
 }
@@ -1,13 +1,15 @@
 package io.goodforgod.dummymapper.filter.impl;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import io.goodforgod.dummymapper.marker.RawMarker;
+import io.goodforgod.dummymapper.marker.Marker;
 import io.goodforgod.dummymapper.model.AnnotationMarker;
 import io.goodforgod.dummymapper.model.AnnotationMarkerBuilder;
-import java.util.Collections;
+import io.goodforgod.dummymapper.model.KnownAnnotation;
+import io.goodforgod.dummymapper.util.MarkerUtils;
 import java.util.HashMap;
 import java.util.Map;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Add {@link JsonProperty#required()} true if such annotation is not present on field
@@ -19,26 +21,19 @@ public class JacksonPropertyFilter extends BaseFilter {
 
     private static final String REQUIRED_PROPERTY = "required";
 
-    @NotNull
+    @Nullable
     @Override
-    public RawMarker filter(@NotNull RawMarker marker) {
-        marker.getStructure().forEach((k, v) -> {
-            final Map<String, Object> annotationAttrs = v.getAnnotations().stream()
-                    .filter(a -> a.named(JsonProperty.class))
-                    .map(AnnotationMarker::getAttributes)
-                    .findFirst()
-                    .orElseGet(Collections::emptyMap);
+    protected Marker filterField(@NotNull String name, @NotNull Marker marker) {
+        final AnnotationMarker property = marker.getAnnotation(KnownAnnotation.JSON_PROPERTY);
+        final Map<String, Object> attrs = (property == null)
+                ? new HashMap<>()
+                : new HashMap<>(property.getAttributes());
+        attrs.put(REQUIRED_PROPERTY, true);
 
-            final Map<String, Object> attrs = new HashMap<>(annotationAttrs);
-            attrs.put(REQUIRED_PROPERTY, true);
-
-            v.addAnnotation(AnnotationMarkerBuilder.get()
-                    .ofField()
-                    .withName(JsonProperty.class)
-                    .withAttributes(attrs)
-                    .build());
-        });
-
-        return filterRecursive(marker);
+        return MarkerUtils.withAnnotation(marker, AnnotationMarkerBuilder.get()
+                .ofField()
+                .withName(JsonProperty.class)
+                .withAttributes(attrs)
+                .build());
     }
 }
@@ -1,14 +1,12 @@
 package io.goodforgod.dummymapper.filter.impl;
 
 import io.goodforgod.dummymapper.marker.Marker;
-import io.goodforgod.dummymapper.marker.RawMarker;
-import io.goodforgod.dummymapper.model.AnnotationMarker;
-import java.util.Map;
-import java.util.function.Predicate;
+import io.goodforgod.dummymapper.model.KnownAnnotation;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * Filters out {@link Marker} from structure if any annotations is qualified by {@link #predicate()}
+ * Filters out {@link Marker} from structure if it is annotated with {@link #annotation()}
  *
  * @author Anton Kurako (GoodforGod)
  * @since 1.5.2020
@@ -16,21 +14,15 @@
 public abstract class MarkerAnnotationFilter extends BaseFilter {
 
     /**
-     * @return predicate for fields that will be ignored if qualified
+     * @return annotation for fields that will be ignored if annotated
      */
-    protected abstract Predicate<AnnotationMarker> predicate();
+    protected abstract KnownAnnotation annotation();
 
-    @NotNull
+    @Nullable
     @Override
-    public RawMarker filter(@NotNull RawMarker marker) {
-        final Predicate<AnnotationMarker> predicate = predicate();
-        final Map<String, Marker> structure = marker.getStructure();
-
-        structure.entrySet().stream()
-                .filter(e -> e.getValue().getAnnotations().stream().anyMatch(predicate))
-                .map(Map.Entry::getKey)
-                .forEach(f -> marker.getStructure().remove(f));
-
-        return filterRecursive(marker);
+    protected Marker filterField(@NotNull String name, @NotNull Marker marker) {
+        return (marker.hasAnnotation(annotation()))
+                ? null
+                : marker;
     }
 }
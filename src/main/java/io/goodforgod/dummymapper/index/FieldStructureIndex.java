@@ -0,0 +1,410 @@
+package io.goodforgod.dummymapper.index;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import io.goodforgod.dummymapper.model.AnnotationStructure;
+import io.goodforgod.dummymapper.model.ClassStructure;
+import io.goodforgod.dummymapper.model.FieldStructure;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Index of fields and annotated methods for each class in Java file, so class annotations can be
+ * retrieved without loading or resolving class file PSI.
+ * <p>
+ * Indexer can not resolve references, so field types and annotations are stored as written in source
+ * with file imports to resolve them later.
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @see ClassStructure
+ * @since 17.10.2026
+ */
+public class FieldStructureIndex extends FileBasedIndexExtension<String, ClassStructure> {
+
+    public static final ID<String, ClassStructure> NAME = ID.create("io.goodforgod.dummymapper.FieldStructureIndex");
+
+    private static final String DEFAULT_ATTRIBUTE = "value";
+
+    /**
+     * @param psiClass to look for
+     * @return indexed class structure if index is available and such class source is indexed
+     */
+    public static @NotNull Optional<ClassStructure> get(@NotNull PsiClass psiClass) {
+        final String name = psiClass.getQualifiedName();
+        if (name == null || psiClass instanceof PsiCompiledElement)
+            return Optional.empty();
+
+        final Project project = psiClass.getProject();
+        if (DumbService.isDumb(project))
+            return Optional.empty();
+
+        final PsiFile file = psiClass.getContainingFile();
+        final VirtualFile virtualFile = (file == null)
+                ? null
+                : file.getVirtualFile();
+        if (virtualFile == null)
+            return Optional.empty();
+
+        return FileBasedIndex.getInstance()
+                .getValues(NAME, name, GlobalSearchScope.fileScope(project, virtualFile))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Looks up class through files where class is indexed, so class is found by index without
+     * {@link com.intellij.psi.JavaPsiFacade} resolution
+     *
+     * @param project       to look in
+     * @param qualifiedName of class (nested classes are separated with dot)
+     * @param scope         to look in
+     * @return source class if index is available and such class is indexed in scope
+     */
+    public static @NotNull Optional<PsiClass> findClass(@NotNull Project project,
+                                                        @NotNull String qualifiedName,
+                                                        @NotNull GlobalSearchScope scope) {
+        if (DumbService.isDumb(project))
+            return Optional.empty();
+
+        final PsiManager manager = PsiManager.getInstance(project);
+        for (VirtualFile file : FileBasedIndex.getInstance().getContainingFiles(NAME, qualifiedName, scope)) {
+            final PsiFile psiFile = manager.findFile(file);
+            if (psiFile instanceof PsiJavaFile) {
+                final Optional<PsiClass> psiClass = findClass(((PsiJavaFile) psiFile).getClasses(), qualifiedName);
+                if (psiClass.isPresent())
+                    return psiClass;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static Optional<PsiClass> findClass(@NotNull PsiClass[] classes, @NotNull String qualifiedName) {
+        for (PsiClass psiClass : classes) {
+            final String name = psiClass.getQualifiedName();
+            if (qualifiedName.equals(name))
+                return Optional.of(psiClass);
+            if (name != null && qualifiedName.startsWith(name + "."))
+                return findClass(psiClass.getInnerClasses(), qualifiedName);
+        }
+
+        return Optional.empty();
+    }
+
+    @NotNull
+    @Override
+    public ID<String, ClassStructure> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, ClassStructure, FileContent> getIndexer() {
+        return inputData -> {
+            final PsiFile file = inputData.getPsiFile();
+            if (!(file instanceof PsiJavaFile))
+                return Collections.emptyMap();
+
+            final Map<String, String> imports = getImports((PsiJavaFile) file);
+            final Map<String, ClassStructure> structures = new HashMap<>();
+            for (PsiClass psiClass : ((PsiJavaFile) file).getClasses())
+                indexClass(psiClass, imports, structures);
+
+            return structures;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<ClassStructure> getValueExternalizer() {
+        return new ClassStructureExternalizer();
+    }
+
+    @Override
+    public int getVersion() {
+        return 3;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    private static void indexClass(@NotNull PsiClass psiClass,
+                                   @NotNull Map<String, String> imports,
+                                   @NotNull Map<String, ClassStructure> structures) {
+        final String name = psiClass.getQualifiedName();
+        if (name == null)
+            return;
+
+        // children are used instead of getFields() and getMethods() so no augmented members are resolved
+        final List<FieldStructure> fields = new ArrayList<>();
+        for (PsiField field : PsiTreeUtil.getChildrenOfTypeAsList(psiClass, PsiField.class)) {
+            final PsiTypeElement typeElement = field.getTypeElement();
+            final String type = (typeElement == null)
+                    ? ""
+                    : typeElement.getText().replaceAll("\\s", "");
+
+            fields.add(new FieldStructure(field.getName(), type, getAnnotations(field.getModifierList())));
+        }
+
+        final Map<String, List<AnnotationStructure>> methods = new HashMap<>();
+        for (PsiMethod method : PsiTreeUtil.getChildrenOfTypeAsList(psiClass, PsiMethod.class)) {
+            final List<AnnotationStructure> annotations = getAnnotations(method.getModifierList());
+            if (!annotations.isEmpty())
+                methods.computeIfAbsent(method.getName(), k -> new ArrayList<>()).addAll(annotations);
+        }
+
+        structures.put(name, new ClassStructure(imports, fields, methods));
+        for (PsiClass innerClass : PsiTreeUtil.getChildrenOfTypeAsList(psiClass, PsiClass.class))
+            indexClass(innerClass, imports, structures);
+    }
+
+    private static Map<String, String> getImports(@NotNull PsiJavaFile file) {
+        final PsiImportList importList = file.getImportList();
+        if (importList == null)
+            return Collections.emptyMap();
+
+        final Map<String, String> imports = new HashMap<>();
+        for (PsiImportStatement statement : importList.getImportStatements()) {
+            final PsiJavaCodeReferenceElement reference = statement.getImportReference();
+            if (statement.isOnDemand() || reference == null)
+                continue;
+
+            final String name = reference.getText().replaceAll("\\s", "");
+            imports.put(name.substring(name.lastIndexOf('.') + 1), name);
+        }
+
+        return imports;
+    }
+
+    private static List<AnnotationStructure> getAnnotations(@Nullable PsiModifierList modifierList) {
+        if (modifierList == null)
+            return Collections.emptyList();
+
+        final List<AnnotationStructure> annotations = new ArrayList<>();
+        for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+            final PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            if (reference == null)
+                continue;
+
+            boolean isConstant = true;
+            final Map<String, Object> attributes = new HashMap<>();
+            for (PsiNameValuePair pair : annotation.getParameterList().getAttributes()) {
+                final PsiAnnotationMemberValue value = pair.getValue();
+                if (value instanceof PsiClassObjectAccessExpression)
+                    continue; // class values are not scanned as attributes
+
+                final Object literal = getLiteral(value);
+                if (literal == null) {
+                    isConstant = false;
+                } else {
+                    final String attributeName = (pair.getName() == null)
+                            ? DEFAULT_ATTRIBUTE
+                            : pair.getName();
+                    attributes.put(attributeName, literal);
+                }
+            }
+
+            final String name = reference.getText().replaceAll("\\s", "");
+            annotations.add(new AnnotationStructure(name, isConstant, attributes));
+        }
+
+        return annotations;
+    }
+
+    private static @Nullable Object getLiteral(@Nullable PsiAnnotationMemberValue value) {
+        if (value instanceof PsiLiteralExpression) {
+            return ((PsiLiteralExpression) value).getValue();
+        } else if (value instanceof PsiArrayInitializerMemberValue) {
+            final List<Object> values = new ArrayList<>();
+            for (PsiAnnotationMemberValue initializer : ((PsiArrayInitializerMemberValue) value).getInitializers()) {
+                final Object literal = getLiteral(initializer);
+                if (literal == null)
+                    return null;
+
+                values.add(literal);
+            }
+            return values;
+        } else {
+            return null;
+        }
+    }
+
+    private static class ClassStructureExternalizer implements DataExternalizer<ClassStructure> {
+
+        private static final byte STRING = 0;
+        private static final byte BOOLEAN = 1;
+        private static final byte CHAR = 2;
+        private static final byte BYTE = 3;
+        private static final byte SHORT = 4;
+        private static final byte INT = 5;
+        private static final byte LONG = 6;
+        private static final byte FLOAT = 7;
+        private static final byte DOUBLE = 8;
+        private static final byte LIST = 9;
+
+        @Override
+        public void save(@NotNull DataOutput out, ClassStructure value) throws IOException {
+            DataInputOutputUtil.writeINT(out, value.getImports().size());
+            for (Map.Entry<String, String> entry : value.getImports().entrySet()) {
+                IOUtil.writeUTF(out, entry.getKey());
+                IOUtil.writeUTF(out, entry.getValue());
+            }
+
+            DataInputOutputUtil.writeINT(out, value.getFields().size());
+            for (FieldStructure field : value.getFields()) {
+                IOUtil.writeUTF(out, field.getName());
+                IOUtil.writeUTF(out, field.getType());
+                saveAnnotations(out, field.getAnnotations());
+            }
+
+            DataInputOutputUtil.writeINT(out, value.getMethods().size());
+            for (Map.Entry<String, List<AnnotationStructure>> entry : value.getMethods().entrySet()) {
+                IOUtil.writeUTF(out, entry.getKey());
+                saveAnnotations(out, entry.getValue());
+            }
+        }
+
+        @Override
+        public ClassStructure read(@NotNull DataInput in) throws IOException {
+            final int importSize = DataInputOutputUtil.readINT(in);
+            final Map<String, String> imports = new HashMap<>(importSize);
+            for (int i = 0; i < importSize; i++)
+                imports.put(IOUtil.readUTF(in), IOUtil.readUTF(in));
+
+            final int fieldSize = DataInputOutputUtil.readINT(in);
+            final List<FieldStructure> fields = new ArrayList<>(fieldSize);
+            for (int i = 0; i < fieldSize; i++)
+                fields.add(new FieldStructure(IOUtil.readUTF(in), IOUtil.readUTF(in), readAnnotations(in)));
+
+            final int methodSize = DataInputOutputUtil.readINT(in);
+            final Map<String, List<AnnotationStructure>> methods = new HashMap<>(methodSize);
+            for (int i = 0; i < methodSize; i++)
+                methods.put(IOUtil.readUTF(in), readAnnotations(in));
+
+            return new ClassStructure(imports, fields, methods);
+        }
+
+        private void saveAnnotations(@NotNull DataOutput out, @NotNull List<AnnotationStructure> annotations) throws IOException {
+            DataInputOutputUtil.writeINT(out, annotations.size());
+            for (AnnotationStructure annotation : annotations) {
+                IOUtil.writeUTF(out, annotation.getName());
+                out.writeBoolean(annotation.isConstant());
+                DataInputOutputUtil.writeINT(out, annotation.getAttributes().size());
+                for (Map.Entry<String, Object> entry : annotation.getAttributes().entrySet()) {
+                    IOUtil.writeUTF(out, entry.getKey());
+                    saveValue(out, entry.getValue());
+                }
+            }
+        }
+
+        private List<AnnotationStructure> readAnnotations(@NotNull DataInput in) throws IOException {
+            final int size = DataInputOutputUtil.readINT(in);
+            final List<AnnotationStructure> annotations = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final String name = IOUtil.readUTF(in);
+                final boolean isConstant = in.readBoolean();
+                final int attributeSize = DataInputOutputUtil.readINT(in);
+                final Map<String, Object> attributes = new HashMap<>(attributeSize);
+                for (int j = 0; j < attributeSize; j++)
+                    attributes.put(IOUtil.readUTF(in), readValue(in));
+                annotations.add(new AnnotationStructure(name, isConstant, attributes));
+            }
+            return annotations;
+        }
+
+        private void saveValue(@NotNull DataOutput out, Object value) throws IOException {
+            if (value instanceof Boolean) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Character) {
+                out.writeByte(CHAR);
+                out.writeChar((Character) value);
+            } else if (value instanceof Byte) {
+                out.writeByte(BYTE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Short) {
+                out.writeByte(SHORT);
+                out.writeShort((Short) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(INT);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof List) {
+                out.writeByte(LIST);
+                DataInputOutputUtil.writeINT(out, ((List<?>) value).size());
+                for (Object o : (List<?>) value)
+                    saveValue(out, o);
+            } else {
+                out.writeByte(STRING);
+                IOUtil.writeUTF(out, String.valueOf(value));
+            }
+        }
+
+        private Object readValue(@NotNull DataInput in) throws IOException {
+            final byte type = in.readByte();
+            switch (type) {
+                case BOOLEAN:
+                    return in.readBoolean();
+                case CHAR:
+                    return in.readChar();
+                case BYTE:
+                    return in.readByte();
+                case SHORT:
+                    return in.readShort();
+                case INT:
+                    return in.readInt();
+                case LONG:
+                    return in.readLong();
+                case FLOAT:
+                    return in.readFloat();
+                case DOUBLE:
+                    return in.readDouble();
+                case LIST:
+                    final int size = DataInputOutputUtil.readINT(in);
+                    final List<Object> values = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++)
+                        values.add(readValue(in));
+                    return values;
+                default:
+                    return IOUtil.readUTF(in);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.goodforgod.dummymapper.mapper.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -8,6 +9,7 @@
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import com.intellij.psi.PsiJavaFile;
 import io.goodforgod.dummymapper.filter.IFilter;
+import io.goodforgod.dummymapper.filter.impl.CompositeFilter;
 import io.goodforgod.dummymapper.filter.impl.EmptyMarkerFilter;
 import io.goodforgod.dummymapper.filter.impl.ExcludeSetterAnnotationFilter;
 import io.goodforgod.dummymapper.filter.impl.GenEnumAnnotationFilter;
@@ -23,14 +25,12 @@ abstract class AbstractJsonJacksonMapper {
 
     protected final ObjectMapper mapper;
 
-    protected final IFilter emptyFilter;
-    protected final IFilter annotationFilter;
-    protected final IFilter annotationEnumFilter;
+    protected final IFilter filter;
 
     protected AbstractJsonJacksonMapper() {
-        this.annotationEnumFilter = new GenEnumAnnotationFilter();
-        this.annotationFilter = new ExcludeSetterAnnotationFilter();
-        this.emptyFilter = new EmptyMarkerFilter();
+        this.filter = new CompositeFilter(new ExcludeSetterAnnotationFilter(),
+                new EmptyMarkerFilter(),
+                new GenEnumAnnotationFilter());
 
         this.mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
         this.mapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX"));
@@ -42,4 +42,20 @@ protected AbstractJsonJacksonMapper() {
                 .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
                 .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
     }
+
+    /**
+     * Serializes with copy of configured mapper which has own serializer caches, so generated
+     * classes are not referenced by mapper after mapping
+     *
+     * @param value to serialize
+     * @return value as JSON
+     */
+    protected String writeValueAsString(Object value) throws JsonProcessingException {
+        final ObjectMapper copy = mapper.copy();
+        try {
+            return copy.writeValueAsString(value);
+        } finally {
+            copy.getTypeFactory().clearCache();
+        }
+    }
 }
@@ -3,13 +3,13 @@
 import com.intellij.psi.PsiJavaFile;
 import io.goodforgod.dummymapper.filter.IFilter;
 import io.goodforgod.dummymapper.filter.impl.AvroFilter;
+import io.goodforgod.dummymapper.filter.impl.CompositeFilter;
 import io.goodforgod.dummymapper.filter.impl.EmptyMarkerFilter;
 import io.goodforgod.dummymapper.filter.impl.ExcludeSetterAnnotationFilter;
 import io.goodforgod.dummymapper.mapper.IMapper;
 import io.goodforgod.dummymapper.marker.RawMarker;
 import io.goodforgod.dummymapper.service.ClassFactory;
 import io.goodforgod.dummymapper.ui.config.IConfig;
-import java.util.Optional;
 import org.apache.avro.Schema;
 import org.apache.avro.reflect.ReflectData;
 import org.jetbrains.annotations.NotNull;
@@ -24,9 +24,9 @@
 @SuppressWarnings("DuplicatedCode")
 public class AvroApacheMapper implements IMapper {
 
-    private final IFilter emptyFilter = new EmptyMarkerFilter();
-    private final IFilter avroFilter = new AvroFilter();
-    private final IFilter annotationFilter = new ExcludeSetterAnnotationFilter();
+    private final IFilter filter = new CompositeFilter(new AvroFilter(),
+            new ExcludeSetterAnnotationFilter(),
+            new EmptyMarkerFilter());
 
     @NotNull
     @Override
@@ -37,17 +37,14 @@ public String map(@NotNull RawMarker marker, @Nullable IConfig config) {
     @NotNull
     @Override
     public String map(@NotNull RawMarker marker) {
-        final RawMarker filtered = Optional.of(marker)
-                .map(avroFilter::filter)
-                .map(annotationFilter::filter)
-                .map(emptyFilter::filter)
-                .orElseThrow(() -> new IllegalArgumentException("Not filter present!"));
+        final RawMarker filtered = filter.filter(marker);
 
         if (filtered.isEmpty())
             return "";
 
-        final Class<?> target = ClassFactory.build(filtered);
-        final Schema schema = ReflectData.get().getSchema(target);
+        final Class<?> target = ClassFactory.build(filtered).getTarget();
+        // own reflect data instance, so its caches do not reference generated classes after mapping
+        final Schema schema = new ReflectData().getSchema(target);
 
         final String schemaAsJson = schema.toString(true);
         final String markerPackage = marker.getSourcePackage();
@@ -10,6 +10,7 @@
 import io.goodforgod.dummymapper.error.MapperException;
 import io.goodforgod.dummymapper.filter.IFilter;
 import io.goodforgod.dummymapper.filter.impl.AvroFilter;
+import io.goodforgod.dummymapper.filter.impl.CompositeFilter;
 import io.goodforgod.dummymapper.filter.impl.EmptyMarkerFilter;
 import io.goodforgod.dummymapper.filter.impl.ExcludeSetterAnnotationFilter;
 import io.goodforgod.dummymapper.filter.impl.JacksonPropertyFilter;
@@ -17,7 +18,6 @@
 import io.goodforgod.dummymapper.marker.RawMarker;
 import io.goodforgod.dummymapper.service.ClassFactory;
 import io.goodforgod.dummymapper.ui.config.AvroJacksonConfig;
-import java.util.Optional;
 import org.apache.avro.Schema;
 import org.jetbrains.annotations.NotNull;
 
@@ -32,32 +32,37 @@
 @SuppressWarnings("DuplicatedCode")
 public class AvroJacksonMapper implements IMapper<AvroJacksonConfig> {
 
-    private final IFilter emptyFilter = new EmptyMarkerFilter();
-    private final IFilter avroFilter = new AvroFilter();
-    private final IFilter requiredFieldFilter = new JacksonPropertyFilter();
-    private final IFilter annotationFilter = new ExcludeSetterAnnotationFilter();
+    private final IFilter filter = new CompositeFilter(new AvroFilter(),
+            new ExcludeSetterAnnotationFilter(),
+            new EmptyMarkerFilter());
+    private final IFilter requiredFilter = new CompositeFilter(new AvroFilter(),
+            new ExcludeSetterAnnotationFilter(),
+            new JacksonPropertyFilter(),
+            new EmptyMarkerFilter());
     private final ObjectMapper mapper = new ObjectMapper(new AvroFactory());
 
     @NotNull
     @Override
     public String map(@NotNull RawMarker marker, AvroJacksonConfig config) {
         try {
-            final RawMarker filtered = Optional.of(marker)
-                    .map(avroFilter::filter)
-                    .map(annotationFilter::filter)
-                    .map(r -> config.isRequiredByDefault()
-                            ? requiredFieldFilter.filter(r)
-                            : r)
-                    .map(emptyFilter::filter)
-                    .orElseThrow(() -> new IllegalArgumentException("Not filter present!"));
+            final RawMarker filtered = (config.isRequiredByDefault())
+                    ? requiredFilter.filter(marker)
+                    : filter.filter(marker);
 
             if (filtered.isEmpty())
                 return "";
 
-            final Class<?> target = ClassFactory.build(filtered);
+            final Class<?> target = ClassFactory.build(filtered).getTarget();
 
+            // copy has own serializer caches, so generated classes are not referenced after mapping
+            final ObjectMapper mapper = this.mapper.copy();
             final AvroSchemaGenerator generator = new AvroSchemaGenerator();
-            mapper.acceptJsonFormatVisitor(target, generator);
+            try {
+                mapper.acceptJsonFormatVisitor(target, generator);
+            } finally {
+                mapper.getTypeFactory().clearCache();
+            }
+
             final AvroSchema generatedSchema = generator.getGeneratedSchema();
             final Schema schema = generatedSchema.getAvroSchema();
             final String schemaAsJson = schema.toString(true);
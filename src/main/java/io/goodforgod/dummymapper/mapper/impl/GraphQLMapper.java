@@ -4,6 +4,7 @@
 import graphql.schema.idl.SchemaPrinter;
 import io.goodforgod.dummymapper.external.JacksonValueMapperCustomFactory;
 import io.goodforgod.dummymapper.filter.IFilter;
+import io.goodforgod.dummymapper.filter.impl.CompositeFilter;
 import io.goodforgod.dummymapper.filter.impl.EmptyMarkerFilter;
 import io.goodforgod.dummymapper.filter.impl.GraphQLNonNullFilter;
 import io.goodforgod.dummymapper.filter.impl.GraphQLQueryFilter;
@@ -12,7 +13,6 @@
 import io.goodforgod.dummymapper.service.ClassFactory;
 import io.goodforgod.dummymapper.ui.config.GraphQLConfig;
 import io.leangen.graphql.GraphQLSchemaGenerator;
-import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -22,22 +22,18 @@
  */
 public class GraphQLMapper implements IMapper<GraphQLConfig> {
 
-    private final IFilter emptyFilter = new EmptyMarkerFilter();
-    private final GraphQLNonNullFilter nonNullFilter = new GraphQLNonNullFilter();
-    private final GraphQLQueryFilter queryFilter = new GraphQLQueryFilter();
+    private final IFilter filter = new CompositeFilter(new GraphQLQueryFilter(),
+            new GraphQLNonNullFilter(),
+            new EmptyMarkerFilter());
 
     @Override
     public @NotNull String map(@NotNull RawMarker marker, @Nullable GraphQLConfig config) {
-        final RawMarker filtered = Optional.of(marker)
-                .map(queryFilter::filter)
-                .map(nonNullFilter::filter)
-                .map(emptyFilter::filter)
-                .orElseThrow(() -> new IllegalArgumentException("Not filter present!"));
+        final RawMarker filtered = filter.filter(marker);
 
         if (filtered.isEmpty())
             return "";
 
-        final Class<?> target = ClassFactory.build(filtered);
+        final Class<?> target = ClassFactory.build(filtered).getTarget();
 
         final GraphQLSchema schema = new GraphQLSchemaGenerator()
                 .withValueMapperFactory(new JacksonValueMapperCustomFactory())
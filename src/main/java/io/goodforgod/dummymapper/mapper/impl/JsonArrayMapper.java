@@ -1,16 +1,18 @@
 package io.goodforgod.dummymapper.mapper.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiJavaFile;
 import io.dummymaker.factory.impl.GenFactory;
 import io.goodforgod.dummymapper.error.ParseException;
 import io.goodforgod.dummymapper.mapper.IMapper;
 import io.goodforgod.dummymapper.marker.RawMarker;
+import io.goodforgod.dummymapper.service.ClassBuild;
 import io.goodforgod.dummymapper.service.ClassFactory;
 import io.goodforgod.dummymapper.service.GenFactoryProvider;
 import io.goodforgod.dummymapper.ui.config.JsonArrayConfig;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -33,24 +35,26 @@ public String map(@NotNull RawMarker marker) {
     @Override
     public String map(@NotNull RawMarker marker, @Nullable JsonArrayConfig config) {
         try {
-            final RawMarker filtered = Optional.of(marker)
-                    .map(annotationFilter::filter)
-                    .map(emptyFilter::filter)
-                    .map(annotationEnumFilter::filter)
-                    .orElseThrow(() -> new IllegalArgumentException("Not filter present!"));
+            final RawMarker filtered = filter.filter(marker);
 
             if (filtered.isEmpty())
                 return "";
 
-            final Class<?> target = ClassFactory.build(filtered);
-            final GenFactory factory = GenFactoryProvider.get(filtered);
+            final ClassBuild build = ClassFactory.build(filtered);
+            final Class<?> target = build.getTarget();
+            final GenFactory factory = GenFactoryProvider.get(build);
 
             final int amount = (config == null)
                     ? 1
                     : config.getAmount();
-            final List<?> list = factory.build(target, amount);
-
-            return mapper.writeValueAsString(list);
+            final List<Object> list = new ArrayList<>(amount);
+            for (int i = 0; i < amount; i++) {
+                ProgressManager.checkCanceled();
+                list.add(factory.build(target));
+            }
+
+            ProgressManager.checkCanceled();
+            return writeValueAsString(list);
         } catch (JsonProcessingException e) {
             throw new ParseException(e.getMessage(), e);
         }
@@ -1,15 +1,16 @@
 package io.goodforgod.dummymapper.mapper.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiJavaFile;
 import io.dummymaker.factory.impl.GenFactory;
 import io.goodforgod.dummymapper.error.ParseException;
 import io.goodforgod.dummymapper.mapper.IMapper;
 import io.goodforgod.dummymapper.marker.RawMarker;
+import io.goodforgod.dummymapper.service.ClassBuild;
 import io.goodforgod.dummymapper.service.ClassFactory;
 import io.goodforgod.dummymapper.service.GenFactoryProvider;
 import io.goodforgod.dummymapper.ui.config.IConfig;
-import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -26,21 +27,19 @@ public class JsonMapper extends AbstractJsonJacksonMapper implements IMapper {
     @Override
     public String map(@NotNull RawMarker marker) {
         try {
-            final RawMarker filtered = Optional.of(marker)
-                    .map(annotationFilter::filter)
-                    .map(emptyFilter::filter)
-                    .map(annotationEnumFilter::filter)
-                    .orElseThrow(() -> new IllegalArgumentException("Marker is not present after filter!"));
+            final RawMarker filtered = filter.filter(marker);
 
             if (filtered.isEmpty())
                 return "";
 
-            final Class<?> target = ClassFactory.build(filtered);
-            final GenFactory factory = GenFactoryProvider.get(filtered);
+            final ClassBuild build = ClassFactory.build(filtered);
+            final Class<?> target = build.getTarget();
+            final GenFactory factory = GenFactoryProvider.get(build);
 
             final Object instance = factory.build(target);
+            ProgressManager.checkCanceled();
 
-            return mapper.writeValueAsString(instance);
+            return writeValueAsString(instance);
         } catch (JsonProcessingException e) {
             throw new ParseException(e.getMessage());
         }
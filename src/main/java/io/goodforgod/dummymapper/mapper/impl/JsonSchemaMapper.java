@@ -2,6 +2,7 @@
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.github.victools.jsonschema.generator.*;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.psi.PsiJavaFile;
 import io.goodforgod.dummymapper.error.ExternalException;
 import io.goodforgod.dummymapper.filter.IFilter;
@@ -36,7 +37,7 @@ public String map(@NotNull RawMarker marker, @Nullable JsonSchemaConfig config)
             if (filtered.isEmpty())
                 return "";
 
-            final Class<?> target = ClassFactory.build(filtered);
+            final Class<?> target = ClassFactory.build(filtered).getTarget();
 
             final SchemaVersion version = (config == null)
                     ? SchemaVersion.DRAFT_2019_09
@@ -48,6 +49,8 @@ public String map(@NotNull RawMarker marker, @Nullable JsonSchemaConfig config)
 
             final JsonNode schema = generator.generateSchema(target);
             return schema.toPrettyString();
+        } catch (ProcessCanceledException e) {
+            throw e;
         } catch (Exception e) {
             throw new ExternalException(e);
         }
@@ -1,6 +1,6 @@
 package io.goodforgod.dummymapper.marker;
 
-import java.util.Objects;
+import java.util.Map;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -32,19 +32,19 @@ public boolean isRaw() {
     }
 
     @Override
-    public boolean equals(Object o) {
-        if (this == o)
-            return true;
-        if (o == null || getClass() != o.getClass())
-            return false;
-        if (!super.equals(o))
-            return false;
-        ArrayMarker that = (ArrayMarker) o;
-        return Objects.equals(erasure, that.erasure);
+    public <T extends Marker> T freeze() {
+        erasure.freeze();
+        return super.freeze();
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), erasure);
+    protected long computeStructureHash(@NotNull Map<Marker, Long> computed) {
+        return combine(super.computeStructureHash(computed), erasure.getStructureHash(computed));
+    }
+
+    @Override
+    protected boolean isStructureEqual(@NotNull Marker other, @NotNull Map<Marker, Marker> compared) {
+        return super.isStructureEqual(other, compared)
+                && isStructureEqual(erasure, ((ArrayMarker) other).erasure, compared);
     }
 }
@@ -34,19 +34,16 @@ public boolean isEmpty() {
     }
 
     @Override
-    public boolean equals(Object o) {
-        if (this == o)
-            return true;
-        if (o == null || getClass() != o.getClass())
-            return false;
-        if (!super.equals(o))
-            return false;
-        EnumMarker that = (EnumMarker) o;
-        return Objects.equals(values, that.values);
+    protected long computeStructureHash(@NotNull Map<Marker, Long> computed) {
+        long hash = super.computeStructureHash(computed);
+        for (String value : values)
+            hash = combine(hash, hash(value));
+
+        return hash;
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), values);
+    protected boolean isStructureEqual(@NotNull Marker other, @NotNull Map<Marker, Marker> compared) {
+        return super.isStructureEqual(other, compared) && values.equals(((EnumMarker) other).values);
     }
 }
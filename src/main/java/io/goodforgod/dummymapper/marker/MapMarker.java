@@ -1,6 +1,6 @@
 package io.goodforgod.dummymapper.marker;
 
-import java.util.Objects;
+import java.util.Map;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -42,20 +42,22 @@ public boolean isRaw() {
     }
 
     @Override
-    public boolean equals(Object o) {
-        if (this == o)
-            return true;
-        if (o == null || getClass() != o.getClass())
-            return false;
-        if (!super.equals(o))
-            return false;
-        MapMarker mapMarker = (MapMarker) o;
-        return Objects.equals(keyErasure, mapMarker.keyErasure) &&
-                Objects.equals(valueErasure, mapMarker.valueErasure);
+    public <T extends Marker> T freeze() {
+        keyErasure.freeze();
+        valueErasure.freeze();
+        return super.freeze();
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), keyErasure, valueErasure);
+    protected long computeStructureHash(@NotNull Map<Marker, Long> computed) {
+        final long hash = combine(super.computeStructureHash(computed), keyErasure.getStructureHash(computed));
+        return combine(hash, valueErasure.getStructureHash(computed));
+    }
+
+    @Override
+    protected boolean isStructureEqual(@NotNull Marker other, @NotNull Map<Marker, Marker> compared) {
+        return super.isStructureEqual(other, compared)
+                && isStructureEqual(keyErasure, ((MapMarker) other).keyErasure, compared)
+                && isStructureEqual(valueErasure, ((MapMarker) other).valueErasure, compared);
     }
 }
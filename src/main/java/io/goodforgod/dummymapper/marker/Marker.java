@@ -1,14 +1,17 @@
 package io.goodforgod.dummymapper.marker;
 
 import io.dummymaker.util.CollectionUtils;
-import io.dummymaker.util.StringUtils;
 import io.goodforgod.dummymapper.model.AnnotationMarker;
+import io.goodforgod.dummymapper.model.KnownAnnotation;
 import java.util.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Marker that contains information about class information
+ * <p>
+ * Marker can be frozen, then it and all its children are immutable and have structural hash
+ * computed once, so equality of frozen markers is checked without walking their structure.
  *
  * @author Anton Kurako (GoodforGod)
  * @since 5.4.2020
@@ -16,109 +19,275 @@
 public abstract class Marker {
 
     /**
-     * Root CLASS marker was extracted from (always child)
+     * CLASS whose scanned structure marker belongs to (parent class for inherited fields, as parent
+     * structure is shared by all subclasses), marker class is identified by {@link #source} only
      */
-    private final String root;
+    private final MarkerSource root;
 
     /**
      * Source CLASS marker was extracted from (can be parent class if inheritance take place)
      */
-    private final String source;
+    private final MarkerSource source;
 
     /**
-     * Annotations that field is annotated with
+     * Annotations that field is annotated with, by their interned names
      */
-    private Set<AnnotationMarker> annotations = Collections.emptySet();
+    private Map<String, AnnotationMarker> annotations = Collections.emptyMap();
+
+    /**
+     * Mask of {@link KnownAnnotation} that are present in annotations
+     */
+    private long knownAnnotations = 0;
+
+    /**
+     * Hash of marker data and hashes of all its children, computed when marker is frozen
+     */
+    private volatile long structureHash;
+    private volatile boolean frozen = false;
 
     public Marker(@NotNull String root, @NotNull String source) {
-        this.root = root;
-        this.source = source;
+        this.root = MarkerSource.of(root);
+        this.source = MarkerSource.of(source);
     }
 
     @SuppressWarnings("unchecked")
     public <T extends Marker> T setAnnotations(@Nullable Collection<AnnotationMarker> annotations) {
-        this.annotations = CollectionUtils.isEmpty(annotations)
-                ? Collections.emptySet()
-                : new HashSet<>(annotations);
+        checkNotFrozen();
+        this.annotations = Collections.emptyMap();
+        this.knownAnnotations = 0;
+        if (!CollectionUtils.isEmpty(annotations))
+            annotations.forEach(this::putAnnotation);
         return (T) this;
     }
 
+    /**
+     * @param annotation to add, is ignored if annotation with same name is already present
+     * @param <T>        type of marker
+     * @return this marker
+     */
     @SuppressWarnings("unchecked")
     public <T extends Marker> T addAnnotation(@NotNull AnnotationMarker annotation) {
-        if (CollectionUtils.isEmpty(annotations))
-            this.annotations = new HashSet<>();
-        this.annotations.add(annotation);
+        checkNotFrozen();
+        putAnnotation(annotation);
         return (T) this;
     }
 
+    private void putAnnotation(@NotNull AnnotationMarker annotation) {
+        if (annotations.isEmpty())
+            this.annotations = new HashMap<>(4);
+        if (annotations.putIfAbsent(annotation.getName(), annotation) == null)
+            this.knownAnnotations |= annotation.getKnownMask();
+    }
+
     public abstract boolean isEmpty();
 
     public @NotNull String getRoot() {
-        return root;
+        return root.getName();
     }
 
     public @NotNull String getRootPackage() {
-        if (StringUtils.isEmpty(root))
-            return "";
-
-        final String cleanRoot = getCleanRoot();
-        return cleanRoot.substring(0, cleanRoot.lastIndexOf('.'));
+        return root.getPackageName();
     }
 
     public @NotNull String getRootSimpleName() {
-        if (StringUtils.isEmpty(source))
-            return "";
-
-        final String cleanRoot = getCleanRoot();
-        return cleanRoot.substring(cleanRoot.lastIndexOf('.') + 1);
+        return root.getSimpleName();
     }
 
     public @NotNull String getSource() {
-        return source;
+        return source.getName();
     }
 
     public @NotNull String getSourcePackage() {
-        if (StringUtils.isEmpty(source))
-            return "";
-
-        final String cleanSource = getCleanSource();
-        return cleanSource.substring(0, cleanSource.lastIndexOf('.'));
+        return source.getPackageName();
     }
 
     public @NotNull String getSourceSimpleName() {
-        if (StringUtils.isEmpty(source))
-            return "";
+        return source.getSimpleName();
+    }
 
-        final String cleanSource = getCleanSource();
-        return cleanSource.substring(cleanSource.lastIndexOf('.') + 1);
+    public @NotNull Collection<AnnotationMarker> getAnnotations() {
+        return Collections.unmodifiableCollection(annotations.values());
     }
 
-    private String getCleanRoot() {
-        return root.replaceFirst("\\.java$", "");
+    public boolean hasAnnotation(@NotNull KnownAnnotation annotation) {
+        return (knownAnnotations & annotation.getMask()) != 0;
     }
 
-    private String getCleanSource() {
-        return source.replaceFirst("\\.java$", "");
+    public boolean hasAnnotation(@NotNull String name) {
+        return annotations.containsKey(name);
     }
 
-    public @NotNull Collection<AnnotationMarker> getAnnotations() {
-        return annotations;
+    public @Nullable AnnotationMarker getAnnotation(@NotNull KnownAnnotation annotation) {
+        return (hasAnnotation(annotation))
+                ? annotations.get(annotation.getName())
+                : null;
+    }
+
+    public @Nullable AnnotationMarker getAnnotation(@NotNull String name) {
+        return annotations.get(name);
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Makes marker and all its children immutable and computes their structural hashes
+     *
+     * @param <T> type of marker
+     * @return this marker
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Marker> T freeze() {
+        if (!frozen) {
+            this.structureHash = computeStructureHash(new IdentityHashMap<>());
+            this.frozen = true;
+        }
+        return (T) this;
+    }
+
+    /**
+     * @return hash of marker data and all its children, markers with same structural hash are equal
+     */
+    public long getStructureHash() {
+        return (frozen)
+                ? structureHash
+                : getStructureHash(new IdentityHashMap<>());
+    }
+
+    /**
+     * @param computed hashes of not frozen markers during current computation, as markers are
+     *                     shared in structure
+     * @return structural hash of marker
+     */
+    protected long getStructureHash(@NotNull Map<Marker, Long> computed) {
+        if (frozen)
+            return structureHash;
+
+        final Long hash = computed.get(this);
+        if (hash != null)
+            return hash;
+
+        final long computedHash = computeStructureHash(computed);
+        computed.put(this, computedHash);
+        return computedHash;
+    }
+
+    /**
+     * @param computed hashes of not frozen markers during current computation
+     * @return hash of marker own data combined with hashes of its children
+     */
+    protected long computeStructureHash(@NotNull Map<Marker, Long> computed) {
+        long hash = combine(hash(getClass().getName()), root.getHash());
+        hash = combine(hash, source.getHash());
+
+        long annotationsHash = 0;
+        for (AnnotationMarker annotation : annotations.values())
+            annotationsHash += hash(annotation);
+
+        return combine(hash, annotationsHash);
     }
 
+    protected static long combine(long hash, long value) {
+        return (Long.rotateLeft(hash, 31) ^ value) * 0x9E3779B97F4A7C15L;
+    }
+
+    protected static long hash(@Nullable String value) {
+        if (value == null)
+            return 0;
+
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++)
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+
+        return hash;
+    }
+
+    private static long hash(@NotNull AnnotationMarker annotation) {
+        long hash = hash(annotation.getName());
+        hash = combine(hash, (annotation.isInternal() ? 1 : 0)
+                | (annotation.isFieldMarked() ? 2 : 0)
+                | (annotation.isGetterMarked() ? 4 : 0)
+                | (annotation.isSetterMarked() ? 8 : 0));
+
+        long attributesHash = 0;
+        for (Map.Entry<String, Object> attribute : annotation.getAttributes().entrySet())
+            attributesHash += combine(hash(attribute.getKey()), Arrays.deepHashCode(new Object[] { attribute.getValue() }));
+
+        return combine(hash, attributesHash);
+    }
+
+    /**
+     * @param other    marker of same type to compare with
+     * @param compared markers that are already compared during current comparison, as markers can
+     *                     reference each other
+     * @return true if marker data and all its children are equal
+     */
+    protected boolean isStructureEqual(@NotNull Marker other, @NotNull Map<Marker, Marker> compared) {
+        if (!Objects.equals(root, other.root) || !Objects.equals(source, other.source)
+                || annotations.size() != other.annotations.size())
+            return false;
+
+        for (AnnotationMarker annotation : annotations.values())
+            if (!isAnnotationEqual(annotation, other.annotations.get(annotation.getName())))
+                return false;
+
+        return true;
+    }
+
+    protected static boolean isStructureEqual(@NotNull Marker marker,
+                                              @NotNull Marker other,
+                                              @NotNull Map<Marker, Marker> compared) {
+        if (marker == other || compared.get(marker) == other)
+            return true;
+        if (marker.getClass() != other.getClass())
+            return false;
+        if (marker.frozen && other.frozen && marker.structureHash != other.structureHash)
+            return false;
+
+        compared.put(marker, other);
+        return marker.isStructureEqual(other, compared);
+    }
+
+    private static boolean isAnnotationEqual(@NotNull AnnotationMarker annotation, @Nullable AnnotationMarker other) {
+        if (other == null
+                || annotation.isInternal() != other.isInternal()
+                || annotation.isFieldMarked() != other.isFieldMarked()
+                || annotation.isGetterMarked() != other.isGetterMarked()
+                || annotation.isSetterMarked() != other.isSetterMarked()
+                || annotation.getAttributes().size() != other.getAttributes().size())
+            return false;
+
+        for (Map.Entry<String, Object> attribute : annotation.getAttributes().entrySet())
+            if (!other.getAttributes().containsKey(attribute.getKey())
+                    || !Objects.deepEquals(attribute.getValue(), other.getAttributes().get(attribute.getKey())))
+                return false;
+
+        return true;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen)
+            throw new IllegalStateException("Marker is frozen and can not be modified, copy it instead");
+    }
+
+    /**
+     * @param o to compare with
+     * @return true if markers are of same type and have same structure, structural hash is compared
+     *             first so only markers with same hash are compared by structure
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o)
             return true;
         if (o == null || getClass() != o.getClass())
             return false;
-        Marker marker = (Marker) o;
-        return Objects.equals(root, marker.root) &&
-                Objects.equals(source, marker.source) &&
-                Objects.equals(annotations, marker.annotations);
+        return getStructureHash() == ((Marker) o).getStructureHash()
+                && isStructureEqual(this, (Marker) o, new IdentityHashMap<>());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(root, source, annotations);
+        return Long.hashCode(getStructureHash());
     }
 }
@@ -0,0 +1,61 @@
+package io.goodforgod.dummymapper.marker;
+
+import com.intellij.util.containers.ContainerUtil;
+import java.util.concurrent.ConcurrentMap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Interned Java file name of class marker was extracted from (like {@code com.acme.Order.java})
+ * with its package, simple name and hash computed once for all markers of such class
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @since 17.10.2026
+ */
+final class MarkerSource {
+
+    private static final String JAVA_EXTENSION = ".java";
+
+    private static final ConcurrentMap<String, MarkerSource> SOURCES = ContainerUtil.createConcurrentWeakValueMap();
+
+    private final String name;
+    private final String packageName;
+    private final String simpleName;
+    private final long hash;
+
+    private MarkerSource(@NotNull String name) {
+        final String className = (name.endsWith(JAVA_EXTENSION))
+                ? name.substring(0, name.length() - JAVA_EXTENSION.length())
+                : name;
+        final int separator = className.lastIndexOf('.');
+
+        this.name = name.intern();
+        this.packageName = (separator == -1)
+                ? ""
+                : className.substring(0, separator).intern();
+        this.simpleName = className.substring(separator + 1).intern();
+        this.hash = Marker.hash(this.name);
+    }
+
+    static @NotNull MarkerSource of(@NotNull String name) {
+        return SOURCES.computeIfAbsent(name, MarkerSource::new);
+    }
+
+    @NotNull
+    String getName() {
+        return name;
+    }
+
+    @NotNull
+    String getPackageName() {
+        return packageName;
+    }
+
+    @NotNull
+    String getSimpleName() {
+        return simpleName;
+    }
+
+    long getHash() {
+        return hash;
+    }
+}
@@ -1,56 +1,238 @@
 package io.goodforgod.dummymapper.marker;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Marker for unknown Java type (custom class)
+ * <p>
+ * Structure is kept as ordered field names and their markers, structure is not modified after
+ * marker is created.
  *
  * @author Anton Kurako (GoodforGod)
  * @since 26.4.2020
  */
 public class RawMarker extends Marker {
 
-    public static final RawMarker EMPTY = new RawMarker("", "", Collections.emptyMap());
+    private static final String[] EMPTY_NAMES = new String[0];
+    private static final Marker[] EMPTY_MARKERS = new Marker[0];
 
-    private final Map<String, Marker> structure;
+    public static final RawMarker EMPTY = new RawMarker("", "", Collections.emptyMap()).freeze();
+
+    private final String[] names;
+    private final Marker[] markers;
+    private Map<String, Marker> structure;
 
     public RawMarker(@NotNull String root,
                      @NotNull String source,
                      @Nullable Map<String, Marker> structure) {
         super(root, source);
-        this.structure = (structure == null || structure.isEmpty())
-                ? Collections.emptyMap()
-                : new ConcurrentHashMap<>(structure);
+        if (structure == null || structure.isEmpty()) {
+            this.names = EMPTY_NAMES;
+            this.markers = EMPTY_MARKERS;
+        } else {
+            this.names = new String[structure.size()];
+            this.markers = new Marker[structure.size()];
+            int i = 0;
+            for (Map.Entry<String, Marker> entry : structure.entrySet()) {
+                names[i] = entry.getKey().intern();
+                markers[i] = Objects.requireNonNull(entry.getValue());
+                i++;
+            }
+        }
+    }
+
+    /**
+     * @param names   of fields, arrays are owned by marker and should not be modified after
+     * @param markers of fields in same order as names
+     */
+    public RawMarker(@NotNull String root,
+                     @NotNull String source,
+                     @NotNull String[] names,
+                     @NotNull Marker[] markers) {
+        super(root, source);
+        if (names.length != markers.length)
+            throw new IllegalArgumentException("Field names and markers are not of same length");
+
+        this.names = (names.length == 0) ? EMPTY_NAMES : names;
+        this.markers = (markers.length == 0) ? EMPTY_MARKERS : markers;
+    }
+
+    /**
+     * @param root   of marker
+     * @param marker which structure is shared with created marker, annotations are not copied
+     */
+    public RawMarker(@NotNull String root, @NotNull RawMarker marker) {
+        super(root, marker.getSource());
+        this.names = marker.names;
+        this.markers = marker.markers;
     }
 
     @Override
     public boolean isEmpty() {
-        return structure.isEmpty();
+        return names.length == 0;
+    }
+
+    /**
+     * @return number of fields in structure
+     */
+    public int size() {
+        return names.length;
+    }
+
+    public @NotNull String getFieldName(int index) {
+        return names[index];
+    }
+
+    public @NotNull Marker getFieldMarker(int index) {
+        return markers[index];
     }
 
+    /**
+     * @return unmodifiable structure of marker as field names and their markers
+     */
     public @NotNull Map<String, Marker> getStructure() {
+        if (structure == null)
+            structure = new Structure();
         return structure;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
-    public boolean equals(Object o) {
-        if (this == o)
+    public <T extends Marker> T freeze() {
+        if (isFrozen())
+            return (T) this;
+
+        for (Marker marker : markers)
+            marker.freeze();
+        return super.freeze();
+    }
+
+    /**
+     * @return hash of marker source and its fields structure without marker root and annotations, so
+     *             it is same for all markers of same class structure
+     */
+    public long getClassHash() {
+        return combine(hash(getSource()), getFieldsHash(new IdentityHashMap<>()));
+    }
+
+    /**
+     * @param other marker to compare with
+     * @return true if markers have same source and same fields structure, regardless of marker root
+     *             and annotations, so both markers define same class as their class hashes tell
+     */
+    public boolean isClassEqual(@NotNull RawMarker other) {
+        if (this == other)
             return true;
-        if (o == null || getClass() != o.getClass())
-            return false;
-        if (!super.equals(o))
+        if (!Objects.equals(getSource(), other.getSource()) || !Arrays.equals(names, other.names))
             return false;
-        RawMarker rawMarker = (RawMarker) o;
-        return Objects.equals(structure, rawMarker.structure);
+
+        final Map<Marker, Marker> compared = new IdentityHashMap<>();
+        for (int i = 0; i < markers.length; i++)
+            if (!isStructureEqual(markers[i], other.markers[i], compared))
+                return false;
+
+        return true;
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), structure);
+    protected long computeStructureHash(@NotNull Map<Marker, Long> computed) {
+        return combine(super.computeStructureHash(computed), getFieldsHash(computed));
+    }
+
+    @Override
+    protected boolean isStructureEqual(@NotNull Marker other, @NotNull Map<Marker, Marker> compared) {
+        final RawMarker marker = (RawMarker) other;
+        if (!super.isStructureEqual(other, compared) || !Arrays.equals(names, marker.names))
+            return false;
+
+        for (int i = 0; i < markers.length; i++)
+            if (!isStructureEqual(markers[i], marker.markers[i], compared))
+                return false;
+
+        return true;
+    }
+
+    private long getFieldsHash(@NotNull Map<Marker, Long> computed) {
+        long fieldsHash = 0;
+        for (int i = 0; i < names.length; i++)
+            fieldsHash += combine(hash(names[i]), markers[i].getStructureHash(computed));
+
+        return fieldsHash;
+    }
+
+    /**
+     * Read only map view over field names and markers
+     */
+    private class Structure extends AbstractMap<String, Marker> {
+
+        @Override
+        public int size() {
+            return names.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) != -1;
+        }
+
+        @Override
+        public Marker get(Object key) {
+            final int index = indexOf(key);
+            return (index == -1)
+                    ? null
+                    : markers[index];
+        }
+
+        @NotNull
+        @Override
+        public Collection<Marker> values() {
+            return Collections.unmodifiableList(Arrays.asList(markers));
+        }
+
+        @NotNull
+        @Override
+        public Set<Entry<String, Marker>> entrySet() {
+            return new AbstractSet<Entry<String, Marker>>() {
+
+                @Override
+                public int size() {
+                    return names.length;
+                }
+
+                @NotNull
+                @Override
+                public Iterator<Entry<String, Marker>> iterator() {
+                    return new Iterator<Entry<String, Marker>>() {
+
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < names.length;
+                        }
+
+                        @Override
+                        public Entry<String, Marker> next() {
+                            if (index >= names.length)
+                                throw new NoSuchElementException();
+
+                            final Entry<String, Marker> entry = new SimpleImmutableEntry<>(names[index], markers[index]);
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+            };
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < names.length; i++)
+                if (names[i].equals(key))
+                    return i;
+
+            return -1;
+        }
     }
 }
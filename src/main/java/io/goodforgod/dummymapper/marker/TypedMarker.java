@@ -1,6 +1,6 @@
 package io.goodforgod.dummymapper.marker;
 
-import java.util.Objects;
+import java.util.Map;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -28,19 +28,12 @@ public boolean isEmpty() {
     }
 
     @Override
-    public boolean equals(Object o) {
-        if (this == o)
-            return true;
-        if (o == null || getClass() != o.getClass())
-            return false;
-        if (!super.equals(o))
-            return false;
-        TypedMarker that = (TypedMarker) o;
-        return Objects.equals(type, that.type);
+    protected long computeStructureHash(@NotNull Map<Marker, Long> computed) {
+        return combine(super.computeStructureHash(computed), hash(type.getName()));
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), type);
+    protected boolean isStructureEqual(@NotNull Marker other, @NotNull Map<Marker, Marker> compared) {
+        return super.isStructureEqual(other, compared) && type.equals(((TypedMarker) other).type);
     }
 }
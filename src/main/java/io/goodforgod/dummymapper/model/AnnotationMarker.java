@@ -13,6 +13,7 @@
 public class AnnotationMarker {
 
     private final String name;
+    private final long knownMask;
     private final boolean isInternal;
     private final boolean isFieldMarked;
     private final boolean isGetterMarked;
@@ -26,7 +27,8 @@ protected AnnotationMarker(@NotNull String name,
                                boolean isSetterMarked,
                                @NotNull Map<String, Object> attributes) {
         this.isInternal = isInternal;
-        this.name = name;
+        this.name = name.intern();
+        this.knownMask = KnownAnnotation.getMask(this.name);
         this.isFieldMarked = isFieldMarked;
         this.isGetterMarked = isGetterMarked;
         this.isSetterMarked = isSetterMarked;
@@ -37,6 +39,13 @@ protected AnnotationMarker(@NotNull String name,
         return name;
     }
 
+    /**
+     * @return {@link KnownAnnotation#getMask()} for known annotation or 0
+     */
+    public long getKnownMask() {
+        return knownMask;
+    }
+
     public boolean isFieldMarked() {
         return isFieldMarked;
     }
@@ -65,6 +74,10 @@ public boolean named(@NotNull Class<?> annotation) {
         return named(annotation.getName());
     }
 
+    public boolean named(@NotNull KnownAnnotation annotation) {
+        return knownMask == annotation.getMask();
+    }
+
     public boolean named(@NotNull String annotation) {
         return name.equals(annotation);
     }
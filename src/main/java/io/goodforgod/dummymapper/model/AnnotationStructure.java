@@ -0,0 +1,59 @@
+package io.goodforgod.dummymapper.model;
+
+import java.util.Map;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Annotation as it is written in source file (name is not resolved)
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @see ClassStructure
+ * @since 17.10.2026
+ */
+public class AnnotationStructure {
+
+    private final String name;
+    private final boolean isConstant;
+    private final Map<String, Object> attributes;
+
+    /**
+     * @param name       of annotation as written in source
+     * @param isConstant true if all attributes values are literals (or arrays of literals)
+     * @param attributes of annotation with literal values only
+     */
+    public AnnotationStructure(@NotNull String name, boolean isConstant, @NotNull Map<String, Object> attributes) {
+        this.name = name;
+        this.isConstant = isConstant;
+        this.attributes = attributes;
+    }
+
+    public @NotNull String getName() {
+        return name;
+    }
+
+    public boolean isConstant() {
+        return isConstant;
+    }
+
+    public @NotNull Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        AnnotationStructure that = (AnnotationStructure) o;
+        return isConstant == that.isConstant &&
+                Objects.equals(name, that.name) &&
+                Objects.equals(attributes, that.attributes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, isConstant, attributes);
+    }
+}
@@ -0,0 +1,92 @@
+package io.goodforgod.dummymapper.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Fields and annotated methods of class as they are written in source file, with file imports to
+ * resolve annotation names without PSI resolution
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @see io.goodforgod.dummymapper.index.FieldStructureIndex
+ * @since 17.10.2026
+ */
+public class ClassStructure {
+
+    private final Map<String, String> imports;
+    private final List<FieldStructure> fields;
+    private final Map<String, List<AnnotationStructure>> methods;
+
+    /**
+     * @param imports single class imports of file as simple name and qualified name
+     * @param fields  declared in class
+     * @param methods declared in class that are annotated, as method name and its annotations
+     */
+    public ClassStructure(@NotNull Map<String, String> imports,
+                          @NotNull List<FieldStructure> fields,
+                          @NotNull Map<String, List<AnnotationStructure>> methods) {
+        this.imports = imports;
+        this.fields = fields;
+        this.methods = methods;
+    }
+
+    public @NotNull Map<String, String> getImports() {
+        return imports;
+    }
+
+    public @NotNull List<FieldStructure> getFields() {
+        return fields;
+    }
+
+    public @NotNull Map<String, List<AnnotationStructure>> getMethods() {
+        return methods;
+    }
+
+    public @NotNull Optional<FieldStructure> getField(@NotNull String name) {
+        return fields.stream()
+                .filter(f -> f.getName().equals(name))
+                .findFirst();
+    }
+
+    /**
+     * @param name of class as written in source
+     * @return qualified name if it is written qualified or is imported explicitly
+     */
+    public @NotNull Optional<String> resolveName(@NotNull String name) {
+        final int dot = name.indexOf('.');
+        final String first = (dot == -1)
+                ? name
+                : name.substring(0, dot);
+
+        final String imported = imports.get(first);
+        if (imported != null) {
+            return (dot == -1)
+                    ? Optional.of(imported)
+                    : Optional.of(imported + name.substring(dot));
+        }
+
+        return (dot != -1 && Character.isLowerCase(first.charAt(0)))
+                ? Optional.of(name)
+                : Optional.empty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ClassStructure that = (ClassStructure) o;
+        return Objects.equals(imports, that.imports) &&
+                Objects.equals(fields, that.fields) &&
+                Objects.equals(methods, that.methods);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(imports, fields, methods);
+    }
+}
@@ -0,0 +1,59 @@
+package io.goodforgod.dummymapper.model;
+
+import java.util.List;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Field as it is written in source file (type and annotations are not resolved)
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @see ClassStructure
+ * @since 17.10.2026
+ */
+public class FieldStructure {
+
+    private final String name;
+    private final String type;
+    private final List<AnnotationStructure> annotations;
+
+    public FieldStructure(@NotNull String name,
+                          @NotNull String type,
+                          @NotNull List<AnnotationStructure> annotations) {
+        this.name = name;
+        this.type = type;
+        this.annotations = annotations;
+    }
+
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * @return type text as written in source without whitespaces
+     */
+    public @NotNull String getType() {
+        return type;
+    }
+
+    public @NotNull List<AnnotationStructure> getAnnotations() {
+        return annotations;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        FieldStructure that = (FieldStructure) o;
+        return Objects.equals(name, that.name) &&
+                Objects.equals(type, that.type) &&
+                Objects.equals(annotations, that.annotations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, type, annotations);
+    }
+}
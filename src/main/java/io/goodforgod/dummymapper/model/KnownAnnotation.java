@@ -0,0 +1,62 @@
+package io.goodforgod.dummymapper.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dummymaker.annotation.complex.GenEnum;
+import io.leangen.graphql.annotations.GraphQLNonNull;
+import io.leangen.graphql.annotations.GraphQLQuery;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.avro.reflect.AvroIgnore;
+import org.apache.avro.reflect.Nullable;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Annotations that are checked by filters, presence of such annotations on
+ * {@link io.goodforgod.dummymapper.marker.Marker} is kept as bit mask
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @since 17.10.2026
+ */
+public enum KnownAnnotation {
+
+    JSON_PROPERTY(JsonProperty.class),
+    GRAPHQL_QUERY(GraphQLQuery.class),
+    GRAPHQL_NON_NULL(GraphQLNonNull.class),
+    AVRO_IGNORE(AvroIgnore.class),
+    AVRO_NULLABLE(Nullable.class),
+    GEN_ENUM(GenEnum.class);
+
+    private static final Map<String, KnownAnnotation> NAMES = new HashMap<>();
+
+    static {
+        for (KnownAnnotation annotation : values())
+            NAMES.put(annotation.getName(), annotation);
+    }
+
+    private final String name;
+    private final long mask;
+
+    KnownAnnotation(@NotNull Class<?> annotation) {
+        this.name = annotation.getName().intern();
+        this.mask = 1L << ordinal();
+    }
+
+    public @NotNull String getName() {
+        return name;
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * @param name of annotation
+     * @return mask of known annotation or 0 if annotation is not known
+     */
+    public static long getMask(@NotNull String name) {
+        final KnownAnnotation annotation = NAMES.get(name);
+        return (annotation == null)
+                ? 0
+                : annotation.mask;
+    }
+}
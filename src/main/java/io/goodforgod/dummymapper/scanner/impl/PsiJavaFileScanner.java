@@ -2,24 +2,37 @@
 
 import static io.goodforgod.dummymapper.util.PsiClassUtils.*;
 
+import com.intellij.concurrency.JobLauncher;
 import com.intellij.lang.jvm.JvmClassKind;
 import com.intellij.lang.jvm.annotation.JvmAnnotationArrayValue;
 import com.intellij.lang.jvm.annotation.JvmAnnotationAttributeValue;
 import com.intellij.lang.jvm.annotation.JvmAnnotationConstantValue;
-import com.intellij.lang.jvm.types.JvmType;
 import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.source.PsiClassReferenceType;
+import com.intellij.psi.impl.source.PsiFileImpl;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.TypeConversionUtil;
 import io.dummymaker.util.StringUtils;
 import io.goodforgod.dummymapper.error.JavaKindException;
 import io.goodforgod.dummymapper.error.ScanException;
+import io.goodforgod.dummymapper.index.FieldStructureIndex;
 import io.goodforgod.dummymapper.marker.*;
 import io.goodforgod.dummymapper.model.AnnotationMarker;
 import io.goodforgod.dummymapper.model.AnnotationMarkerBuilder;
+import io.goodforgod.dummymapper.model.AnnotationStructure;
+import io.goodforgod.dummymapper.model.ClassStructure;
+import io.goodforgod.dummymapper.model.FieldStructure;
 import io.goodforgod.dummymapper.scanner.IFileScanner;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.ArrayUtils;
@@ -38,24 +51,44 @@
 @SuppressWarnings("UnstableApiUsage")
 public class PsiJavaFileScanner implements IFileScanner {
 
+    /**
+     * How many times class is scanned nested in itself before it is scanned with erased type
+     * parameters, as generic class that references itself with other type arguments gets new
+     * bindings at each level
+     */
+    private static final int MAX_BINDING_DEPTH = 3;
+
+    /**
+     * Field type written as plain class name (no type arguments, arrays or type annotations)
+     */
+    private static final Pattern PLAIN_TYPE = Pattern.compile("[\\w$]+(\\.[\\w$]+)*");
+
+    /**
+     * Class source with resolved bindings of its type parameters, parent classes are scanned with
+     * bindings of their subclass while all other classes are scanned by themselves without bindings
+     */
     private static class Target {
 
-        private final String root;
         private final String source;
+        private final String bindings;
 
-        public Target(String root, String source) {
-            this.root = root;
-            this.source = source;
+        public Target(String source) {
+            this(source, "");
         }
 
-        public String getRoot() {
-            return root;
+        public Target(String source, String bindings) {
+            this.source = source;
+            this.bindings = bindings;
         }
 
         public String getSource() {
             return source;
         }
 
+        public String getBindings() {
+            return bindings;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o)
@@ -63,17 +96,191 @@ public boolean equals(Object o) {
             if (o == null || getClass() != o.getClass())
                 return false;
             Target target = (Target) o;
-            return Objects.equals(root, target.root) && Objects.equals(source, target.source);
+            return Objects.equals(source, target.source) && Objects.equals(bindings, target.bindings);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(root, source);
+            return Objects.hash(source, bindings);
         }
     }
 
+    /**
+     * Class structures scanned by this scanner, each structure is scanned once and shared by all
+     * classes that reach it (including subclasses for parent class structures)
+     */
     private final Map<Target, Map<String, Marker>> scanned = new HashMap<>();
 
+    /**
+     * Markers of completely scanned class structures, all markers of such class reached
+     * from other classes only wrap this marker structure with their own root
+     */
+    private final Map<Target, RawMarker> canonical = new HashMap<>();
+
+    /**
+     * Class structures by source from previous scans that are still valid
+     */
+    private final Map<String, Map<String, Marker>> cached;
+
+    /**
+     * Class structures by source completed by concurrent field scanners of this scan
+     */
+    private final Map<String, Map<String, Marker>> shared;
+
+    /**
+     * Sources of classes that each scanned class source includes in its structure
+     */
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    private final Map<String, VirtualFile> sourceFiles = new HashMap<>();
+
+    /**
+     * Sources that included partially scanned structure (due to recursive class references)
+     */
+    private final Set<String> incomplete = new HashSet<>();
+    private final Deque<String> scanning = new ArrayDeque<>();
+
+    private final Map<String, Optional<ClassStructure>> indexed = new HashMap<>();
+    private final Map<String, Map<String, List<AnnotationMarker>>> accessors = new HashMap<>();
+
+    /**
+     * Super classes and interfaces of class that its accessor annotations are collected from
+     */
+    private final Map<String, Set<PsiClass>> accessorSupers = new HashMap<>();
+
+    /**
+     * Resolved classes and enum values by canonical type name, so each type is resolved once per scan
+     */
+    private final Map<String, Optional<PsiClass>> resolvedClasses = new HashMap<>();
+    private final Map<String, Optional<PsiClass>> resolvedParentClasses = new HashMap<>();
+    private final Map<String, List<String>> enumValues = new HashMap<>();
+
+    /**
+     * Classes found by {@link FieldStructureIndex} by qualified name
+     */
+    private final Map<String, Optional<PsiClass>> indexedClasses = new HashMap<>();
+
+    /**
+     * Resolve classes only through {@link JavaPsiFacade} stub indexes and report files which AST was
+     * loaded during scan anyway
+     */
+    private final boolean stubOnly;
+
+    /**
+     * Files which AST was not loaded when they were first reached by scan
+     */
+    private final Set<PsiFileImpl> stubFiles = new HashSet<>();
+
+    /**
+     * Scan classes of root class fields concurrently before root class itself
+     */
+    private final boolean parallel;
+
+    /**
+     * Maximum depth of nested classes scanned from root class (0 is unlimited) and depth of class
+     * currently scanned
+     */
+    private final int maxDepth;
+    private int depth = 0;
+
+    /**
+     * Sources of classes that were not scanned as they are deeper than {@link #maxDepth}
+     */
+    private final Set<String> truncated = new HashSet<>();
+
+    /**
+     * Names of root class fields to scan, all fields are scanned if empty
+     */
+    private Set<String> projection = Collections.emptySet();
+    private String projectedSource;
+
+    /**
+     * Whether structure of scanned class is taken from cache as it is
+     */
+    private boolean rootCached = false;
+
+    public PsiJavaFileScanner() {
+        this(Collections.emptyMap(), false);
+    }
+
+    public PsiJavaFileScanner(@NotNull Map<String, Map<String, Marker>> cached, boolean stubOnly) {
+        this(cached, stubOnly, false);
+    }
+
+    public PsiJavaFileScanner(@NotNull Map<String, Map<String, Marker>> cached, boolean stubOnly, boolean parallel) {
+        this(cached, stubOnly, parallel, 0);
+    }
+
+    public PsiJavaFileScanner(@NotNull Map<String, Map<String, Marker>> cached,
+                              boolean stubOnly,
+                              boolean parallel,
+                              int maxDepth) {
+        this(cached, new ConcurrentHashMap<>(), stubOnly, parallel, maxDepth);
+    }
+
+    private PsiJavaFileScanner(@NotNull Map<String, Map<String, Marker>> cached,
+                               @NotNull Map<String, Map<String, Marker>> shared,
+                               boolean stubOnly,
+                               boolean parallel,
+                               int maxDepth) {
+        this.cached = cached;
+        this.shared = shared;
+        this.stubOnly = stubOnly;
+        this.parallel = parallel;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return structures by source that were completely scanned and can be reused by other scans
+     */
+    public @NotNull Map<String, Map<String, Marker>> getCompletedStructures() {
+        final Map<String, Map<String, Marker>> completed = new HashMap<>(shared);
+        scanned.forEach((target, structure) -> {
+            if (target.getBindings().isEmpty() && !incomplete.contains(target.getSource()))
+                completed.put(target.getSource(), structure);
+        });
+        return completed;
+    }
+
+    /**
+     * @return map of class source and all class sources its structure includes
+     */
+    public @NotNull Map<String, Set<String>> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * @return files which AST was loaded during scan in stub only mode
+     */
+    public @NotNull List<VirtualFile> getAstLoadedFiles() {
+        return stubFiles.stream()
+                .filter(PsiFileImpl::isContentsLoaded)
+                .map(PsiFile::getVirtualFile)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return sources of classes that were not scanned as they are deeper than maximum depth and are
+     *             mapped as string fields
+     */
+    public @NotNull Set<String> getTruncatedSources() {
+        return truncated;
+    }
+
+    /**
+     * @return true if whole structure of scanned class was taken from cache of previous scans
+     */
+    public boolean isCached() {
+        return rootCached;
+    }
+
+    /**
+     * @return map of class source and file class is declared in
+     */
+    public @NotNull Map<String, VirtualFile> getSourceFiles() {
+        return sourceFiles;
+    }
+
     public @NotNull RawMarker scan(@Nullable PsiFile file) {
         if (!(file instanceof PsiJavaFile)) {
             return RawMarker.EMPTY;
@@ -88,6 +295,16 @@ public int hashCode() {
     }
 
     public @NotNull RawMarker scan(@Nullable PsiClass target) {
+        return scan(target, Collections.emptySet());
+    }
+
+    /**
+     * @param target to scan
+     * @param fields names of target fields to scan (with classes reachable from them), all fields
+     *                   are scanned if empty
+     * @return marker of target class
+     */
+    public @NotNull RawMarker scan(@Nullable PsiClass target, @NotNull Set<String> fields) {
         if (target == null)
             return RawMarker.EMPTY;
 
@@ -96,21 +313,231 @@ public int hashCode() {
                 || JvmClassKind.INTERFACE.equals(target.getClassKind()))
             throw new JavaKindException(target.getClassKind());
 
-        final Map<String, Marker> scannedFile = scanJavaClass(target);
+        final String source = getFileFullName(target);
+        this.projection = fields;
+        this.projectedSource = source;
+        this.rootCached = fields.isEmpty() && cached.containsKey(source);
+        if (parallel)
+            scanFieldClasses(target);
+
+        final Map<String, Marker> scannedFile = (fields.isEmpty())
+                ? scanSourceClass(target)
+                : scanProjectedClass(target);
         if (scannedFile.isEmpty())
             return RawMarker.EMPTY;
 
+        return (fields.isEmpty())
+                ? getRawMarker(source, new Target(source), scannedFile)
+                : new RawMarker(source, source, scannedFile);
+    }
+
+    /**
+     * Scans only projected fields of target, such structure is not complete so it is never cached
+     *
+     * @param target to scan
+     * @return structure of projected fields
+     */
+    private @NotNull Map<String, Marker> scanProjectedClass(@NotNull PsiClass target) {
         final String source = getFileFullName(target);
-        final String root = getFileFullName(target);
-        return new RawMarker(root, source, scannedFile);
+        final Map<String, Marker> cachedStructure = cached.get(source);
+        if (cachedStructure != null) {
+            final Map<String, Marker> structure = new LinkedHashMap<>(cachedStructure);
+            structure.keySet().retainAll(projection);
+            return structure;
+        }
+
+        addDependency(target);
+        incomplete.add(source);
+        scanning.push(source);
+        try {
+            return scanJavaClass(target, PsiSubstitutor.EMPTY);
+        } finally {
+            scanning.pop();
+        }
+    }
+
+    private boolean isProjected(@NotNull String source) {
+        return depth == 0 && !projection.isEmpty() && source.equals(projectedSource);
+    }
+
+    /**
+     * Scans classes of target fields concurrently, each in own scanner under read access of calling
+     * thread, so sequential scan of target reuses their completed structures
+     * <p>
+     * Class is scanned by single worker, nested classes reachable from several field classes may
+     * still be scanned by several workers as they do not wait for each other.
+     *
+     * @param target to scan field classes for
+     */
+    private void scanFieldClasses(@NotNull PsiClass target) {
+        final Map<String, PsiClass> fieldClasses = new LinkedHashMap<>();
+        for (PsiField field : target.getFields())
+            if (isFieldValid(field) && (projection.isEmpty() || projection.contains(field.getName())))
+                collectFieldClasses(field.getType(), fieldClasses);
+
+        if (fieldClasses.size() < 2)
+            return;
+
+        final Set<String> claimed = ConcurrentHashMap.newKeySet();
+        final Queue<PsiJavaFileScanner> workers = new ConcurrentLinkedQueue<>();
+        JobLauncher.getInstance().invokeConcurrentlyUnderProgress(new ArrayList<>(fieldClasses.values()),
+                ProgressManager.getInstance().getProgressIndicator(), true, true, fieldClass -> {
+                    final String source = getFileFullName(fieldClass);
+                    if (cached.containsKey(source) || shared.containsKey(source) || !claimed.add(source))
+                        return true;
+
+                    final PsiJavaFileScanner worker = new PsiJavaFileScanner(cached, shared, stubOnly, false, maxDepth);
+                    worker.depth = depth + 1;
+                    try {
+                        worker.scanSourceClass(fieldClass);
+                    } catch (ScanException e) {
+                        // class is scanned again by sequential scan which reports error
+                        return true;
+                    }
+
+                    shared.putAll(worker.getCompletedStructures());
+                    workers.add(worker);
+                    return true;
+                });
+
+        for (PsiJavaFileScanner worker : workers) {
+            worker.dependencies.forEach((k, v) -> dependencies.computeIfAbsent(k, n -> new HashSet<>()).addAll(v));
+            worker.sourceFiles.forEach(sourceFiles::putIfAbsent);
+            stubFiles.addAll(worker.stubFiles);
+            truncated.addAll(worker.truncated);
+        }
+    }
+
+    private void collectFieldClasses(@NotNull PsiType type, @NotNull Map<String, PsiClass> fieldClasses) {
+        final PsiType componentType = (type instanceof PsiWildcardType)
+                ? ((PsiWildcardType) type).getBound()
+                : type.getDeepComponentType();
+        if (!(componentType instanceof PsiClassType))
+            return;
+
+        final PsiClassType classType = (PsiClassType) componentType;
+        for (PsiType parameter : classType.getParameters())
+            collectFieldClasses(parameter, fieldClasses);
+
+        final PsiClass psiClass = classType.resolve();
+        if (psiClass == null
+                || psiClass instanceof PsiTypeParameter
+                || psiClass instanceof PsiCompiledElement
+                || psiClass.getQualifiedName() == null
+                || !JvmClassKind.CLASS.equals(psiClass.getClassKind()))
+            return;
+
+        fieldClasses.putIfAbsent(psiClass.getQualifiedName(), psiClass);
+    }
+
+    private @NotNull Map<String, Marker> scanSourceClass(@NotNull PsiClass target) {
+        return scanSourceClass(target, PsiSubstitutor.EMPTY);
+    }
+
+    /**
+     * @param target      to scan
+     * @param substitutor with resolved types for target type parameters
+     * @return structure of target scanned once for such resolved types
+     */
+    private @NotNull Map<String, Marker> scanSourceClass(@NotNull PsiClass target,
+                                                         @NotNull PsiSubstitutor substitutor) {
+        final String source = getFileFullName(target);
+        addDependency(target);
+
+        final String bindings = getBindings(target, substitutor);
+        final Map<String, Marker> structure = getScanned(new Target(source, bindings));
+        if (structure != null)
+            return structure;
+
+        if (!bindings.isEmpty() && Collections.frequency(scanning, source) >= MAX_BINDING_DEPTH)
+            return scanSourceClass(target, PsiSubstitutor.EMPTY);
+
+        scanning.push(source);
+        try {
+            return scanJavaClass(target, substitutor);
+        } finally {
+            scanning.pop();
+        }
+    }
+
+    /**
+     * @param psiClass    to get bindings for
+     * @param substitutor with resolved types for class type parameters
+     * @return resolved types of class type parameters or empty string if none is resolved
+     */
+    private static @NotNull String getBindings(@NotNull PsiClass psiClass, @NotNull PsiSubstitutor substitutor) {
+        if (substitutor == PsiSubstitutor.EMPTY)
+            return "";
+
+        final StringJoiner joiner = new StringJoiner(",");
+        for (PsiTypeParameter parameter : psiClass.getTypeParameters()) {
+            final PsiType type = substitutor.substitute(parameter);
+            if (type != null && !(type instanceof PsiClassType && ((PsiClassType) type).resolve() instanceof PsiTypeParameter))
+                joiner.add(parameter.getName() + "=" + type.getCanonicalText());
+        }
+
+        return joiner.toString();
+    }
+
+    /**
+     * @param root      of marker
+     * @param target    of marker structure
+     * @param structure of target class
+     * @return marker that shares canonical marker structure of class if class is completely scanned
+     */
+    private @NotNull RawMarker getRawMarker(@NotNull String root,
+                                            @NotNull Target target,
+                                            @NotNull Map<String, Marker> structure) {
+        final String source = target.getSource();
+        if (scanning.contains(source))
+            return new RawMarker(root, source, structure);
+
+        final RawMarker marker = canonical.computeIfAbsent(target, k -> new RawMarker(source, source, structure));
+        return new RawMarker(root, marker);
+    }
+
+    private @Nullable Map<String, Marker> getScanned(@NotNull Target target) {
+        final String source = target.getSource();
+        final Map<String, Marker> structure = scanned.get(target);
+        if (structure == null) {
+            if (!target.getBindings().isEmpty())
+                return null;
+
+            final Map<String, Marker> cachedStructure = cached.get(source);
+            return (cachedStructure == null)
+                    ? shared.get(source)
+                    : cachedStructure;
+        }
+
+        // structure is partially scanned or depends on such, so all currently scanned depend on it too
+        if (scanning.contains(source) || incomplete.contains(source))
+            incomplete.addAll(scanning);
+
+        return structure;
     }
 
-    private @NotNull Map<String, Marker> scanJavaClass(@Nullable PsiClass target) {
+    private void addDependency(@NotNull PsiClass psiClass) {
+        final String source = getFileFullName(psiClass);
+        final PsiFile file = psiClass.getContainingFile();
+        if (file != null && file.getVirtualFile() != null)
+            sourceFiles.putIfAbsent(source, file.getVirtualFile());
+        if (stubOnly && file instanceof PsiFileImpl && !((PsiFileImpl) file).isContentsLoaded())
+            stubFiles.add((PsiFileImpl) file);
+
+        final String dependent = scanning.peek();
+        if (dependent != null && !dependent.equals(source))
+            dependencies.computeIfAbsent(dependent, k -> new HashSet<>()).add(source);
+    }
+
+    private @NotNull Map<String, Marker> scanJavaClass(@Nullable PsiClass target,
+                                                       @NotNull PsiSubstitutor substitutor) {
         try {
             if (target == null || isTypeSimple(getFileFullName(target)) || isTypeEnum(getFileFullName(target)))
                 return Collections.emptyMap();
 
-            return scanJavaClass(target, target, Collections.emptyMap());
+            return scanJavaClass(target, target, substitutor);
+        } catch (ProcessCanceledException e) {
+            throw e;
         } catch (Exception e) {
             throw new ScanException(e);
         }
@@ -118,107 +545,88 @@ public int hashCode() {
 
     private Map<String, Marker> scanJavaClass(@NotNull PsiClass rootClass,
                                               @NotNull PsiClass targetClass,
-                                              @NotNull Map<String, PsiType> parentTypes) {
+                                              @NotNull PsiSubstitutor substitutor) {
         if (isTypeSimple(getFileFullName(targetClass)) || isTypeEnum(getFileFullName(targetClass)))
             return Collections.emptyMap();
 
         final String root = getFileFullName(rootClass);
         final String source = getFileFullName(targetClass);
 
+        final Target target = new Target(source, getBindings(targetClass, substitutor));
         final PsiClass superTarget = targetClass.getSuperClass();
         final Map<String, Marker> structure = new LinkedHashMap<>();
 
         if (superTarget != null && Enum.class.getName().equals(superTarget.getQualifiedName())) {
-            final List<String> enumValues = Arrays.stream(targetClass.getFields())
-                    .filter(f -> f instanceof PsiEnumConstant)
-                    .map(PsiField::getName)
-                    .collect(Collectors.toList());
-
-            final EnumMarker marker = new EnumMarker(root, source, enumValues);
+            final EnumMarker marker = new EnumMarker(root, source, getEnumValues(targetClass));
             structure.put(targetClass.getName(), marker);
-            scanned.put(new Target(root, source), structure);
+            scanned.put(target, structure);
             return structure;
         }
 
-        if (superTarget != null && !isTypeSimple(superTarget.getQualifiedName())) { // SCAN PARENT CLASS
-            final Map<String, PsiType> types = getTypeErasures(targetClass);
-            final Map<String, PsiType> unknownParentTypes = types.entrySet().stream()
-                    .filter(e -> !isTypeSimple(e.getValue().getPresentableText()))
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-            int valueCounter = 0;
-            for (Map.Entry<String, PsiType> entry : unknownParentTypes.entrySet()) {
-                final String key = entry.getKey();
-                final PsiType v = entry.getValue();
-                final int index = valueCounter;
-
-                final PsiType type = Optional.ofNullable(parentTypes.get(v.getPresentableText()))
-                        .orElseGet(() -> (v.getSuperTypes().length > index)
-                                ? v.getSuperTypes()[index]
-                                : null);
-                if (type != null)
-                    types.put(key, type);
-
-                valueCounter++;
-            }
-
-            final Map<String, Marker> superScan = scanJavaClass(rootClass, superTarget, types);
-            structure.putAll(superScan);
+        Map<String, Marker> inherited = Collections.emptyMap();
+
+        final boolean projected = isProjected(source);
+        final boolean inheritedProjected = projected
+                && projection.stream().anyMatch(name -> targetClass.findFieldByName(name, false) == null);
+        if (superTarget != null && !isTypeSimple(superTarget.getQualifiedName())
+                && (!projected || inheritedProjected)) { // SCAN PARENT CLASS
+            final PsiSubstitutor superSubstitutor = TypeConversionUtil.getSuperClassSubstitutor(superTarget, targetClass,
+                    substitutor);
+            inherited = scanSourceClass(superTarget, superSubstitutor);
+            structure.putAll(inherited);
+            if (projected)
+                structure.keySet().retainAll(projection);
         }
 
-        // TODO restructure code so that it will be more obvious to use cache for structure if possible
-
-        // Get cached structure if file was not changed since last scan
-        // final long modificationStamp = target.getContainingFile().getModificationStamp();
-        // if (scannedModified.getOrDefault(source, -1L).equals(modificationStamp)) {
-        // logger.debug("Retrieving CACHED structure for '{}' with modifyStamp '{}'", source,
-        // modificationStamp);
-        // final Map<String, Marker> cached = scanned.get(source);
-        // cached.putAll(structure); // put all parent scanned fields in case they changed
-        // return cached;
-        // }
-
-        scanned.put(new Target(root, source), structure);
+        scanned.put(target, structure);
         final PsiField[] fields = targetClass.getFields();
 
         for (PsiField field : fields) {
+            ProgressManager.checkCanceled();
             final String fieldName = field.getName();
-            final PsiType type = field.getType();
-            final String typeName = type.getPresentableText();
-
-            if (isTypeEnum(type)) {
-                final EnumMarker marker = scanEnumMarker(source, root, rootClass, type);
-                structure.put(fieldName, marker);
-            } else if (isFieldValid(field)) {
-                if (isTypeArray(type)) {
-                    final ArrayMarker marker = scanArrayMarker(source, root, targetClass, type);
-                    structure.put(fieldName, marker);
-                } else if (isTypeCollection(type)) {
-                    final CollectionMarker marker = scanCollectionMarker(source, root, targetClass, type);
-                    structure.put(fieldName, marker);
-                } else if (isTypeMap(type)) {
-                    final MapMarker marker = scanMapMarker(source, root, targetClass, type);
-                    structure.put(fieldName, marker);
-                } else if (isTypeSimple(type)) {
-                    final TypedMarker marker = scanSimpleMarker(source, root, type);
+            if (projected && !projection.contains(fieldName))
+                continue;
+
+            final Optional<Marker> indexedMarker = (isFieldValid(field))
+                    ? scanIndexedField(root, targetClass, fieldName)
+                    : Optional.empty();
+            if (indexedMarker.isPresent()) {
+                structure.put(fieldName, indexedMarker.get());
+            } else {
+                final PsiType type = substitutor.substitute(field.getType());
+
+                if (isTypeEnum(type)) {
+                    final EnumMarker marker = scanEnumMarker(source, root, rootClass, type);
                     structure.put(fieldName, marker);
-                } else if (parentTypes.containsKey(typeName)) { // PARENT CLASS ERASURE
-                    final PsiType parentType = parentTypes.get(typeName);
-                    if (parentType != null && isTypeSimple(parentType)) {
-                        final TypedMarker marker = scanSimpleMarker(source, root, parentType);
+                } else if (isFieldValid(field)) {
+                    if (isTypeArray(type)) {
+                        final ArrayMarker marker = scanArrayMarker(source, root, targetClass, type);
                         structure.put(fieldName, marker);
-                    }
-                } else if (!isTypeForbidden(type)) { // COMPLEX CLASS SCAN IF NOT FORBIDDEN ONE
-                    final Optional<Marker> marker = scanJavaFileClass(targetClass, type);
-                    if (marker.isPresent()) {
-                        structure.put(fieldName, marker.get());
-                    } else {
-                        scanJavaInnerClass(targetClass, type).ifPresent(m -> structure.put(fieldName, m));
+                    } else if (isTypeCollection(type)) {
+                        final CollectionMarker marker = scanCollectionMarker(source, root, targetClass, type);
+                        structure.put(fieldName, marker);
+                    } else if (isTypeMap(type)) {
+                        final MapMarker marker = scanMapMarker(source, root, targetClass, type);
+                        structure.put(fieldName, marker);
+                    } else if (isTypeSimple(type)) {
+                        final TypedMarker marker = scanSimpleMarker(source, root, type);
+                        structure.put(fieldName, marker);
+                    } else if (!isTypeForbidden(type)) { // COMPLEX CLASS SCAN IF NOT FORBIDDEN ONE
+                        final Optional<Marker> marker = scanJavaFileClass(targetClass, type);
+                        if (marker.isPresent()) {
+                            structure.put(fieldName, marker.get());
+                        } else {
+                            scanJavaInnerClass(targetClass, type).ifPresent(m -> structure.put(fieldName, m));
+                        }
                     }
                 }
             }
 
+            final Map<String, Marker> parentStructure = inherited;
             structure.computeIfPresent(fieldName, (k, v) -> {
+                if (parentStructure.get(k) == v) // parent class marker is shared with other subclasses
+                    return v;
+
                 final Collection<AnnotationMarker> annotations = scanMarkerAnnotations(targetClass, field);
                 return v.setAnnotations(annotations);
             });
@@ -227,28 +635,250 @@ private Map<String, Marker> scanJavaClass(@NotNull PsiClass rootClass,
         return structure;
     }
 
+    /**
+     * Resolves field type from {@link FieldStructureIndex} when field type is written as plain class
+     * name, so field class is found by index lookups without PSI type resolution
+     *
+     * @return field marker or empty if class is not indexed or type is not plain class name that can
+     *             be resolved from index, such field is scanned by PSI
+     */
+    private Optional<Marker> scanIndexedField(@NotNull String root,
+                                              @NotNull PsiClass targetClass,
+                                              @NotNull String fieldName) {
+        final Optional<ClassStructure> classStructure = getIndexedStructure(targetClass);
+        final Optional<FieldStructure> fieldStructure = classStructure.flatMap(s -> s.getField(fieldName));
+        if (!fieldStructure.isPresent() || !PLAIN_TYPE.matcher(fieldStructure.get().getType()).matches())
+            return Optional.empty();
+
+        final String type = fieldStructure.get().getType();
+        final String source = getFileFullName(targetClass);
+        final Class<?> primitive = getSimpleTypeByName(type);
+        if (primitive != null && primitive.isPrimitive())
+            return Optional.of(new TypedMarker(root, source, primitive));
+
+        final Optional<String> qualifiedName = resolveIndexedName(targetClass, classStructure.get(), type);
+        if (!qualifiedName.isPresent())
+            return Optional.empty();
+
+        final Class<?> simple = getSimpleTypeByName(qualifiedName.get());
+        if (simple != null)
+            return Optional.of(new TypedMarker(root, source, simple));
+
+        return findIndexedClass(targetClass, qualifiedName.get()).flatMap(psiClass -> {
+            if (psiClass.isEnum()) {
+                addDependency(psiClass);
+                return Optional.of(new EnumMarker(root, getFileFullName(psiClass), getEnumValues(psiClass)));
+            } else if (!JvmClassKind.CLASS.equals(psiClass.getClassKind())) {
+                return Optional.empty();
+            }
+
+            final Map<String, Marker> structure = scanNestedClass(psiClass, PsiSubstitutor.EMPTY);
+            return (structure == null)
+                    ? Optional.of(getTruncatedMarker(source, getFileFullName(psiClass)))
+                    : Optional.of(getRawMarker(source, new Target(getFileFullName(psiClass)), structure));
+        });
+    }
+
+    /**
+     * Resolves class name as Java does: nested classes of declaring class and its outer classes, single
+     * class imports, classes of same package and simple types of java.lang
+     *
+     * @param targetClass    where type is written
+     * @param classStructure of target class
+     * @param type           plain class name as written in source
+     * @return qualified name or empty if name is type parameter, is imported on demand or is not
+     *             resolved
+     */
+    private Optional<String> resolveIndexedName(@NotNull PsiClass targetClass,
+                                                @NotNull ClassStructure classStructure,
+                                                @NotNull String type) {
+        final int dot = type.indexOf('.');
+        final String first = (dot == -1)
+                ? type
+                : type.substring(0, dot);
+        final String rest = (dot == -1)
+                ? ""
+                : type.substring(dot);
+
+        for (PsiClass psiClass = targetClass; psiClass != null; psiClass = psiClass.getContainingClass()) {
+            for (PsiTypeParameter parameter : psiClass.getTypeParameters())
+                if (first.equals(parameter.getName()))
+                    return Optional.empty();
+
+            if (psiClass.findInnerClassByName(first, false) != null)
+                return Optional.of(psiClass.getQualifiedName() + "." + type);
+        }
+
+        final Optional<String> imported = classStructure.resolveName(type);
+        if (imported.isPresent())
+            return imported;
+
+        final PsiFile file = targetClass.getContainingFile();
+        final String packageName = (file instanceof PsiJavaFile)
+                ? ((PsiJavaFile) file).getPackageName()
+                : "";
+        final String packageClass = (packageName.isEmpty())
+                ? first
+                : packageName + "." + first;
+        if (findIndexedClass(targetClass, packageClass).isPresent())
+            return Optional.of(packageClass + rest);
+
+        final String langClass = "java.lang." + type;
+        return (dot == -1 && isTypeSimple(langClass))
+                ? Optional.of(langClass)
+                : Optional.empty();
+    }
+
+    private Optional<PsiClass> findIndexedClass(@NotNull PsiClass targetClass, @NotNull String qualifiedName) {
+        return indexedClasses.computeIfAbsent(qualifiedName,
+                k -> FieldStructureIndex.findClass(targetClass.getProject(), qualifiedName, targetClass.getResolveScope()));
+    }
+
     private Collection<AnnotationMarker> scanMarkerAnnotations(@NotNull PsiClass targetClass,
                                                                @NotNull PsiField field) {
         final String fieldName = field.getName();
-        final List<AnnotationMarker> annotations = scanAnnotations(field.getAnnotations())
-                .map(AnnotationMarkerBuilder::ofField)
-                .map(AnnotationMarkerBuilder::build)
-                .collect(Collectors.toList());
+        final Set<AnnotationMarker> annotations = new HashSet<>(scanIndexedAnnotations(targetClass, fieldName)
+                .orElseGet(() -> scanAnnotations(field.getAnnotations())
+                        .map(AnnotationMarkerBuilder::ofField)
+                        .map(AnnotationMarkerBuilder::build)
+                        .collect(Collectors.toList())));
+
+        final List<AnnotationMarker> accessorAnnotations = getAccessorAnnotations(targetClass)
+                .get(fieldName.toLowerCase(Locale.ROOT));
+        if (accessorAnnotations != null)
+            annotations.addAll(accessorAnnotations);
+
+        return annotations;
+    }
 
-        final List<AnnotationMarker> methodAnnotations = Arrays.stream(targetClass.getAllMethods())
-                .filter(m -> ArrayUtils.isNotEmpty(m.getAnnotations()))
-                .filter(m -> m.getName().length() > 3)
-                .filter(m -> fieldName.equalsIgnoreCase(m.getName().substring(3)))
-                .flatMap(m -> scanAnnotations(m.getAnnotations())
-                        .map(b -> m.getName().startsWith("set")
-                                ? b.ofSetter()
-                                : b.ofGetter())
-                        .map(AnnotationMarkerBuilder::build))
-                .collect(Collectors.toList());
+    /**
+     * @return field annotations from {@link FieldStructureIndex} or empty if class is not indexed or
+     *             any annotation can not be resolved from index
+     */
+    private Optional<List<AnnotationMarker>> scanIndexedAnnotations(@NotNull PsiClass targetClass,
+                                                                    @NotNull String fieldName) {
+        final Optional<ClassStructure> classStructure = getIndexedStructure(targetClass);
+        final Optional<FieldStructure> fieldStructure = classStructure.flatMap(s -> s.getField(fieldName));
+        if (!fieldStructure.isPresent())
+            return Optional.empty();
 
-        return Stream.of(annotations, methodAnnotations)
-                .flatMap(List::stream)
-                .collect(Collectors.toSet());
+        final List<AnnotationMarker> annotations = new ArrayList<>();
+        for (AnnotationStructure annotation : fieldStructure.get().getAnnotations()) {
+            final Optional<AnnotationMarkerBuilder> builder = getIndexedAnnotation(classStructure.get(), annotation);
+            if (!builder.isPresent())
+                return Optional.empty();
+
+            annotations.add(builder.get().ofField().build());
+        }
+
+        return Optional.of(annotations);
+    }
+
+    /**
+     * Accessor annotations are collected once per class for all its fields, super classes accessor
+     * annotations are collected once and reused by all subclasses. All super classes and interfaces
+     * are registered as dependencies of scanned class, so changed accessor of any of them invalidates
+     * its structure
+     *
+     * @param psiClass to collect getter and setter annotations for
+     * @return map of accessor field name in lower case and its annotations
+     */
+    private Map<String, List<AnnotationMarker>> getAccessorAnnotations(@NotNull PsiClass psiClass) {
+        final String source = getFileFullName(psiClass);
+        final Map<String, List<AnnotationMarker>> cached = accessors.get(source);
+        if (cached != null) {
+            accessorSupers.getOrDefault(source, Collections.emptySet()).forEach(this::addDependency);
+            return cached;
+        }
+
+        accessors.put(source, Collections.emptyMap()); // in case of cyclic hierarchy
+        final Map<String, List<AnnotationMarker>> annotations = new HashMap<>();
+        final Map<String, List<AnnotationMarker>> declared = scanIndexedAccessorAnnotations(psiClass)
+                .orElseGet(() -> scanPsiAccessorAnnotations(psiClass));
+        declared.forEach((k, v) -> annotations.computeIfAbsent(k, n -> new ArrayList<>()).addAll(v));
+
+        final Set<PsiClass> supers = new LinkedHashSet<>();
+        for (PsiClass superClass : psiClass.getSupers()) {
+            getAccessorAnnotations(superClass)
+                    .forEach((k, v) -> annotations.computeIfAbsent(k, n -> new ArrayList<>()).addAll(v));
+            if (!(superClass instanceof PsiCompiledElement))
+                supers.add(superClass);
+            supers.addAll(accessorSupers.getOrDefault(getFileFullName(superClass), Collections.emptySet()));
+        }
+
+        supers.forEach(this::addDependency);
+        accessorSupers.put(source, supers);
+        accessors.put(source, annotations);
+        return annotations;
+    }
+
+    private Optional<Map<String, List<AnnotationMarker>>> scanIndexedAccessorAnnotations(@NotNull PsiClass psiClass) {
+        final Optional<ClassStructure> classStructure = getIndexedStructure(psiClass);
+        if (!classStructure.isPresent())
+            return Optional.empty();
+
+        final Map<String, List<AnnotationMarker>> annotations = new HashMap<>();
+        for (Map.Entry<String, List<AnnotationStructure>> method : classStructure.get().getMethods().entrySet()) {
+            final String methodName = method.getKey();
+            if (!isAccessor(methodName))
+                continue;
+
+            for (AnnotationStructure annotation : method.getValue()) {
+                final Optional<AnnotationMarkerBuilder> builder = getIndexedAnnotation(classStructure.get(), annotation);
+                if (!builder.isPresent())
+                    return Optional.empty();
+
+                annotations.computeIfAbsent(getAccessorFieldName(methodName), k -> new ArrayList<>())
+                        .add(getAccessorAnnotation(methodName, builder.get()));
+            }
+        }
+
+        return Optional.of(annotations);
+    }
+
+    private Map<String, List<AnnotationMarker>> scanPsiAccessorAnnotations(@NotNull PsiClass psiClass) {
+        final Map<String, List<AnnotationMarker>> annotations = new HashMap<>();
+        for (PsiMethod method : psiClass.getMethods()) {
+            final String methodName = method.getName();
+            if (!isAccessor(methodName) || ArrayUtils.isEmpty(method.getAnnotations()))
+                continue;
+
+            scanAnnotations(method.getAnnotations())
+                    .map(b -> getAccessorAnnotation(methodName, b))
+                    .forEach(a -> annotations.computeIfAbsent(getAccessorFieldName(methodName), k -> new ArrayList<>()).add(a));
+        }
+
+        return annotations;
+    }
+
+    private Optional<ClassStructure> getIndexedStructure(@NotNull PsiClass psiClass) {
+        return indexed.computeIfAbsent(getFileFullName(psiClass), k -> FieldStructureIndex.get(psiClass));
+    }
+
+    private Optional<AnnotationMarkerBuilder> getIndexedAnnotation(@NotNull ClassStructure classStructure,
+                                                                   @NotNull AnnotationStructure annotation) {
+        if (!annotation.isConstant())
+            return Optional.empty();
+
+        return classStructure.resolveName(annotation.getName())
+                .map(name -> AnnotationMarkerBuilder.get()
+                        .withName(name)
+                        .withAttributes(annotation.getAttributes()));
+    }
+
+    private static boolean isAccessor(@NotNull String methodName) {
+        return methodName.length() > 3;
+    }
+
+    private static String getAccessorFieldName(@NotNull String methodName) {
+        return methodName.substring(3).toLowerCase(Locale.ROOT);
+    }
+
+    private static AnnotationMarker getAccessorAnnotation(@NotNull String methodName,
+                                                          @NotNull AnnotationMarkerBuilder builder) {
+        return methodName.startsWith("set")
+                ? builder.ofSetter().build()
+                : builder.ofGetter().build();
     }
 
     private Optional<Marker> scanJavaInnerClass(@NotNull PsiClass rootClass,
@@ -260,49 +890,106 @@ private Optional<Marker> scanJavaInnerClass(@NotNull PsiClass rootClass,
                         .findFirst()
                         .map(sourceClass -> {
                             final String source = getFileFullName(sourceClass);
-                            final Map<String, Marker> cached = scanned.get(new Target(root, source));
-                            final Map<String, Marker> structure = (cached == null)
-                                    ? scanJavaClass(sourceClass, sourceClass, new HashMap<>())
-                                    : cached;
+                            final Map<String, Marker> structure = scanNestedClass(sourceClass, PsiSubstitutor.EMPTY);
+                            if (structure == null)
+                                return getTruncatedMarker(root, source);
 
                             final Marker marker = structure.get(type.getPresentableText());
                             if (marker instanceof EnumMarker) { // ENUM
                                 return new EnumMarker(root, marker.getSource(), ((EnumMarker) marker).getValues());
                             } else {
-                                return new RawMarker(root, source, structure);
+                                return getRawMarker(root, new Target(source), structure);
                             }
                         }));
     }
 
     private Optional<Marker> scanJavaFileClass(@NotNull PsiClass rootClass,
                                                @NotNull PsiType type) {
+        if (type instanceof PsiClassType && ((PsiClassType) type).hasParameters())
+            return scanJavaGenericClass(rootClass, (PsiClassType) type);
+
         return getPsiJavaClass(type).map(psiClass -> {
             final String root = getFileFullName(rootClass);
             final String source = getFileFullName(psiClass);
-            final Map<String, Marker> cached = scanned.get(new Target(source, source));
-            final Map<String, Marker> structure = (cached == null)
-                    ? scanJavaClass(psiClass)
-                    : cached;
+            final Map<String, Marker> structure = scanNestedClass(psiClass, PsiSubstitutor.EMPTY);
+            if (structure == null)
+                return getTruncatedMarker(root, source);
 
             final Marker marker = structure.get(type.getPresentableText());
             if (marker instanceof EnumMarker) { // ENUM
                 return new EnumMarker(root, marker.getSource(), ((EnumMarker) marker).getValues());
             } else {
-                return new RawMarker(root, source, structure);
+                return getRawMarker(root, new Target(source), structure);
             }
         });
     }
 
+    /**
+     * Scans class of parameterized type, with type arguments as resolved types of class type
+     * parameters
+     */
+    private Optional<Marker> scanJavaGenericClass(@NotNull PsiClass rootClass,
+                                                  @NotNull PsiClassType type) {
+        final PsiClassType.ClassResolveResult resolved = type.resolveGenerics();
+        final PsiClass psiClass = resolved.getElement();
+        if (psiClass == null
+                || psiClass instanceof PsiTypeParameter
+                || psiClass.getQualifiedName() == null
+                || !JvmClassKind.CLASS.equals(psiClass.getClassKind()))
+            return Optional.empty();
+
+        final String root = getFileFullName(rootClass);
+        final PsiSubstitutor substitutor = resolved.getSubstitutor();
+        final Target target = new Target(getFileFullName(psiClass), getBindings(psiClass, substitutor));
+        final Map<String, Marker> structure = scanNestedClass(psiClass, substitutor);
+        return (structure == null)
+                ? Optional.of(getTruncatedMarker(root, target.getSource()))
+                : Optional.of(getRawMarker(root, target, structure));
+    }
+
+    /**
+     * @param psiClass    of field to scan
+     * @param substitutor with resolved types for class type parameters
+     * @return structure of class or null if class is deeper than {@link #maxDepth} and is not
+     *             scanned already, such class field is mapped as {@link #getTruncatedMarker(String, String)}
+     */
+    private @Nullable Map<String, Marker> scanNestedClass(@NotNull PsiClass psiClass,
+                                                          @NotNull PsiSubstitutor substitutor) {
+        if (maxDepth > 0 && depth >= maxDepth && !psiClass.isEnum()
+                && getScanned(new Target(getFileFullName(psiClass), getBindings(psiClass, substitutor))) == null) {
+            // structures with skipped classes are not complete and are not cached
+            incomplete.addAll(scanning);
+            return null;
+        }
+
+        depth++;
+        try {
+            return scanSourceClass(psiClass, substitutor);
+        } finally {
+            depth--;
+        }
+    }
+
+    /**
+     * @param root   of field marker
+     * @param source of class that is not scanned as it is deeper than {@link #maxDepth}
+     * @return string field placeholder for such class, so field stays visible in mapped output
+     */
+    private Marker getTruncatedMarker(@NotNull String root, @NotNull String source) {
+        truncated.add(source);
+        return new TypedMarker(root, source, String.class);
+    }
+
     private EnumMarker scanEnumMarker(@NotNull String source,
                                       @NotNull String rootName,
                                       @NotNull PsiClass rootClass,
                                       @NotNull PsiType type) {
         final String fullName = getFileFullName(type);
         return getPsiJavaClass(type)
-                .map(psiClass -> Arrays.stream(psiClass.getFields())
-                        .filter(f -> f instanceof PsiEnumConstant)
-                        .map(NavigationItem::getName)
-                        .collect(Collectors.toList()))
+                .map(psiClass -> {
+                    addDependency(psiClass);
+                    return getEnumValues(psiClass);
+                })
                 .map(values -> new EnumMarker(rootName, fullName, values))
                 .orElseGet(() -> scanJavaInnerClass(rootClass, type)
                         .filter(m -> m instanceof EnumMarker)
@@ -325,7 +1012,7 @@ private CollectionMarker scanCollectionMarker(@NotNull String source,
                                                   @NotNull String rootName,
                                                   @NotNull PsiClass rootClass,
                                                   @NotNull PsiType type) {
-        final Marker marker = Optional.of(((PsiClassReferenceType) type).getParameters())
+        final Marker marker = Optional.of(((PsiClassType) type).getParameters())
                 .filter(p -> p.length == 1)
                 .map(p -> getMarkerFromPsiType(source, rootName, rootClass, p[0]))
                 .orElseGet(() -> new TypedMarker(rootName, source, String.class));
@@ -338,7 +1025,7 @@ private MapMarker scanMapMarker(@NotNull String source,
                                     @NotNull String rootName,
                                     @NotNull PsiClass rootClass,
                                     @NotNull PsiType type) {
-        final Pair<Marker, Marker> pair = Optional.of(((PsiClassReferenceType) type).getParameters())
+        final Pair<Marker, Marker> pair = Optional.of(((PsiClassType) type).getParameters())
                 .filter(p -> p.length == 2)
                 .map(p -> {
                     final Marker keyMarker = getMarkerFromPsiType(source, rootName, rootClass, p[0]);
@@ -400,23 +1087,11 @@ private Object getAttributeValue(JvmAnnotationAttributeValue attribute) {
         }
     }
 
-    /**
-     * @param psiClass of targeted class
-     * @return map of super type erasure name and targeted class erasure psiType
-     */
-    private Map<String, PsiType> getTypeErasures(@Nullable PsiClass psiClass) {
-        if (psiClass == null || psiClass.getSuperClass() == null || psiClass.getSuperClassType() == null)
-            return Collections.emptyMap();
-
-        final Map<String, PsiType> types = new LinkedHashMap<>();
-        for (JvmType argument : psiClass.getSuperClassType().typeArguments()) {
-            for (PsiTypeParameter parameter : psiClass.getSuperClass().getTypeParameters()) {
-                if (argument instanceof PsiType) {
-                    types.put(parameter.getName(), (PsiType) argument);
-                }
-            }
-        }
-        return types;
+    private List<String> getEnumValues(@NotNull PsiClass psiClass) {
+        return enumValues.computeIfAbsent(getFileFullName(psiClass), k -> Arrays.stream(psiClass.getFields())
+                .filter(f -> f instanceof PsiEnumConstant)
+                .map(NavigationItem::getName)
+                .collect(Collectors.toList()));
     }
 
     private Optional<PsiClass> getPsiJavaParentClass(@NotNull PsiType type) {
@@ -425,23 +1100,33 @@ private Optional<PsiClass> getPsiJavaParentClass(@NotNull PsiType type) {
         if (last == -1 || last == 0)
             return Optional.empty();
 
-        final String parentName = fullName.substring(0, last);
-        final Optional<PsiClass> fileClass = getPsiJavaClassByType(type);
-        return (fileClass.isPresent())
-                ? fileClass
-                : getPsiJavaClass(parentName, type.getResolveScope());
+        return resolvedParentClasses.computeIfAbsent(fullName, k -> {
+            final String parentName = fullName.substring(0, last);
+            final Optional<PsiClass> fileClass = getPsiJavaClassByType(type);
+            return (fileClass.isPresent())
+                    ? fileClass
+                    : getPsiJavaClass(parentName, type.getResolveScope());
+        });
     }
 
     private Optional<PsiClass> getPsiJavaClass(@NotNull PsiType type) {
-        final Optional<PsiClass> fileClass = getPsiJavaClassByType(type);
-
         final String fullName = getClassFullName(type);
-        return (fileClass.isPresent())
-                ? fileClass
-                : getPsiJavaClass(fullName, type.getResolveScope());
+        return resolvedClasses.computeIfAbsent(fullName, k -> {
+            final Optional<PsiClass> fileClass = getPsiJavaClassByType(type);
+            return (fileClass.isPresent())
+                    ? fileClass
+                    : getPsiJavaClass(fullName, type.getResolveScope());
+        });
     }
 
+    /**
+     * Looks up class among classes of file type is declared in, this walks type context file and is
+     * skipped in stub only mode, where class is resolved through {@link JavaPsiFacade} instead
+     */
     private Optional<PsiClass> getPsiJavaClassByType(@NotNull PsiType type) {
+        if (stubOnly)
+            return Optional.empty();
+
         return Optional.of(type)
                 .filter(t -> t instanceof PsiClassReferenceType)
                 .map(t -> ((PsiClassReferenceType) t).getPsiContext())
@@ -456,13 +1141,28 @@ private Optional<PsiClass> getPsiJavaClassByType(@NotNull PsiType type) {
                 });
     }
 
+    /**
+     * Search class in type resolve scope (type module with its dependencies) first and only then in
+     * all project scope
+     */
     private Optional<PsiClass> getPsiJavaClass(@NotNull String fileName,
-                                               @Nullable GlobalSearchScope globalSearchScope) {
-        return Optional.ofNullable(globalSearchScope)
-                .map(GlobalSearchScope::getProject)
-                .flatMap(
-                        p -> Optional.ofNullable(JavaPsiFacade.getInstance(p).findClass(fileName, GlobalSearchScope.allScope(p))))
+                                               @Nullable GlobalSearchScope resolveScope) {
+        if (resolveScope == null || resolveScope.getProject() == null)
+            return Optional.empty();
+
+        final Project project = resolveScope.getProject();
+        final Optional<PsiClass> indexedClass = FieldStructureIndex.findClass(project, fileName, resolveScope);
+        if (indexedClass.isPresent())
+            return indexedClass;
+
+        final JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+        final Optional<PsiClass> moduleClass = Optional.ofNullable(facade.findClass(fileName, resolveScope))
                 .filter(psiClass -> psiClass.getContainingFile() instanceof PsiJavaFile);
+
+        return (moduleClass.isPresent())
+                ? moduleClass
+                : Optional.ofNullable(facade.findClass(fileName, GlobalSearchScope.allScope(project)))
+                        .filter(psiClass -> psiClass.getContainingFile() instanceof PsiJavaFile);
     }
 
     private String getFileFullName(@NotNull PsiClass psiClass) {
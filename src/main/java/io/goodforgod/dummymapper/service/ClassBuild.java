@@ -0,0 +1,52 @@
+package io.goodforgod.dummymapper.service;
+
+import io.dummymaker.model.GenRule;
+import io.goodforgod.dummymapper.marker.RawMarker;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Classes built by {@link ClassFactory} for marker and all class markers reachable from it, with
+ * rules to generate instances of built classes
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @see GenFactoryProvider
+ * @since 17.10.2026
+ */
+public class ClassBuild {
+
+    private final Class<?> target;
+    private final Map<RawMarker, Class<?>> classes;
+    private final List<GenRule> rules;
+
+    /**
+     * @param target  class built for root marker
+     * @param classes built for class markers, compared by identity
+     * @param rules   with generators for enum fields for each built class
+     */
+    ClassBuild(@NotNull Class<?> target,
+               @NotNull Map<RawMarker, Class<?>> classes,
+               @NotNull List<GenRule> rules) {
+        this.target = target;
+        this.classes = classes;
+        this.rules = rules;
+    }
+
+    public @NotNull Class<?> getTarget() {
+        return target;
+    }
+
+    public @NotNull Map<RawMarker, Class<?>> getClasses() {
+        return classes;
+    }
+
+    public @Nullable Class<?> getMarkerClass(@NotNull RawMarker marker) {
+        return classes.get(marker);
+    }
+
+    public @NotNull List<GenRule> getRules() {
+        return rules;
+    }
+}
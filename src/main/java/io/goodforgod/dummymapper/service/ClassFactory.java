@@ -1,21 +1,25 @@
 package io.goodforgod.dummymapper.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import io.dummymaker.model.GenRule;
 import io.dummymaker.util.CollectionUtils;
 import io.goodforgod.dummymapper.error.ClassBuildException;
 import io.goodforgod.dummymapper.error.ClassEmptyException;
 import io.goodforgod.dummymapper.marker.*;
 import io.goodforgod.dummymapper.model.AnnotationMarker;
-import io.goodforgod.dummymapper.model.AnnotationMarkerBuilder;
 import io.goodforgod.dummymapper.scanner.impl.PsiJavaFileScanner;
-import io.goodforgod.dummymapper.util.MarkerUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.lang.ref.WeakReference;
 import java.util.*;
-import java.util.function.Predicate;
-import javassist.*;
-import javassist.bytecode.AnnotationsAttribute;
-import javassist.bytecode.ConstPool;
-import javassist.bytecode.FieldInfo;
-import javassist.bytecode.SignatureAttribute;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javassist.bytecode.*;
 import javassist.bytecode.annotation.*;
 import org.jetbrains.annotations.NotNull;
 
@@ -28,297 +32,431 @@
  */
 public class ClassFactory {
 
-    private static final ClassPool CLASS_POOL = ClassPool.getDefault();
+    /**
+     * Classes of single build with own package and class loader to define them in
+     */
+    private static final class Session {
+
+        private final String packageName = getClassPackage(SESSION_COUNTER.incrementAndGet());
+        private final DummyClassLoader loader = new DummyClassLoader(ObjectMapper.class.getClassLoader());
+
+        /**
+         * Markers that define classes of session by their class hash, markers with same class hash are
+         * compared by structure, and how many classes have same simple name
+         */
+        private final Map<Long, List<RawMarker>> hashed = new HashMap<>();
+        private final Map<String, Integer> simpleNames = new HashMap<>();
+
+        /**
+         * Generated class names of all class markers and markers whose structure defines class
+         */
+        private final Map<RawMarker, String> classNames = new IdentityHashMap<>();
+        private final Map<String, RawMarker> definitions = new LinkedHashMap<>();
+
+        private final Map<String, Class<?>> linked = new HashMap<>();
+        private final List<String> built = new ArrayList<>();
+        private final List<RawMarker> markers = new ArrayList<>();
+
+        /**
+         * @param classHash of marker
+         * @param marker    to look class for
+         * @return name of class in session for marker with same class structure or null if none
+         */
+        private String getName(long classHash, @NotNull RawMarker marker) {
+            for (RawMarker defined : hashed.getOrDefault(classHash, Collections.emptyList()))
+                if (defined.isClassEqual(marker))
+                    return classNames.get(defined);
+
+            return null;
+        }
+
+        /**
+         * @param type class from previous build to reference
+         * @return name of referenced class
+         */
+        private String link(@NotNull Class<?> type) {
+            loader.link(type);
+            linked.put(type.getName(), type);
+            return type.getName();
+        }
 
-    // TODO create own classloader that could be GC so old classes can be unloaded from memory
-    private static final Map<String, Integer> CLASS_SUFFIX_COUNTER = new HashMap<>();
+        /**
+         * @param marker to build class from
+         * @return name of class to build, classes with same simple name are suffixed with their number
+         */
+        private String add(@NotNull RawMarker marker) {
+            final String simpleName = getSourceClassName(marker);
+            final int num = simpleNames.merge(simpleName, 1, Integer::sum) - 1;
+            final String className = (num == 0)
+                    ? packageName + "." + simpleName
+                    : packageName + "." + simpleName + "_" + num;
+
+            built.add(className);
+            markers.add(marker);
+            return className;
+        }
 
-    private static final String MAPPED_VISITED = "_class_mapped_visited";
-    private static final Predicate<RawMarker> IS_VISITED = m -> m.getAnnotations().stream()
-            .filter(AnnotationMarker::isInternal)
-            .anyMatch(a -> a.getName().equals(MAPPED_VISITED));
+        /**
+         * Defines all classes built in session and caches them, rules are created for each class
+         *
+         * @param root marker of build
+         * @return classes of all markers in session
+         */
+        private ClassBuild define(@NotNull RawMarker root) throws ClassNotFoundException {
+            final Map<String, Class<?>> classes = new HashMap<>(linked);
+            for (String className : built) {
+                final Class<?> defined = loader.loadClass(className);
+                final RawMarker marker = definitions.get(className);
+                classes.put(className, defined);
+                CLASS_CACHE.put(marker.getClassHash(), new CachedClass(defined, marker));
+            }
 
-    private ClassFactory() {}
+            if (!built.isEmpty()) {
+                LOADERS_CREATED.incrementAndGet();
+                CLASSES_DEFINED.addAndGet(built.size());
+                CLASS_LOADERS.put(loader, built.size());
+            }
+
+            final Map<RawMarker, Class<?>> markerClasses = new IdentityHashMap<>(classNames.size());
+            classNames.forEach((marker, className) -> markerClasses.put(marker, classes.get(className)));
+
+            final List<GenRule> rules = new ArrayList<>(definitions.size());
+            definitions.forEach((className, marker) -> rules
+                    .add(GenFactoryProvider.getRule(classes.get(className), marker)));
+            return new ClassBuild(markerClasses.get(root), markerClasses, rules);
+        }
+    }
 
-    // /**
-    // * Contains class cache via className and its hash for structure
-    // */
-    // private static final Map<String, Integer> CLASS_CACHE = new HashMap<>();
-
-    public static Map<String, String> getMappedClasses(@NotNull RawMarker marker) {
-        if (IS_VISITED.test(marker))
-            return Collections.emptyMap();
-
-        marker.addAnnotation(AnnotationMarkerBuilder.get().ofInternal().withName(MAPPED_VISITED).build());
-
-        final Map<String, String> mapped = new HashMap<>();
-        final Map<String, Marker> structure = marker.getStructure();
-
-        MarkerUtils.streamRawMarkers(structure)
-                .filter(m -> !m.isEmpty())
-                .map(ClassFactory::getMappedClasses)
-                .forEach(mapped::putAll);
-
-        MarkerUtils.streamArrayRawMarkers(structure)
-                .filter(m -> !m.isEmpty())
-                .map(m -> getMappedClasses(((RawMarker) m.getErasure())))
-                .forEach(mapped::putAll);
-
-        MarkerUtils.streamCollectionRawMarkers(structure)
-                .filter(m -> !m.isEmpty())
-                .map(m -> getMappedClasses(((RawMarker) m.getErasure())))
-                .forEach(mapped::putAll);
-
-        MarkerUtils.streamMapRawMarkers(structure)
-                .filter(m -> !m.isEmpty())
-                .map(m -> {
-                    final Map<String, String> mapped1 = m.getKeyErasure() instanceof RawMarker
-                            ? getMappedClasses(((RawMarker) m.getKeyErasure()))
-                            : new HashMap<>(1);
-
-                    final Map<String, String> mapped2 = m.getKeyErasure() instanceof RawMarker
-                            ? getMappedClasses(((RawMarker) m.getKeyErasure()))
-                            : Collections.emptyMap();
-
-                    mapped1.putAll(mapped2);
-                    return mapped1;
-                })
-                .forEach(mapped::putAll);
-
-        structure.values().stream()
-                .filter(m -> m instanceof TypedMarker || m instanceof RawMarker || m instanceof EnumMarker)
-                .findFirst()
-                .ifPresent(m -> {
-                    final String currentClassName = getPrevClassName(m);
-                    mapped.put(m.getRoot(), currentClassName);
-                });
-
-        return mapped;
+    /**
+     * Generated class with marker it was built from, so class is reused only for markers with same
+     * class structure and not just same class hash
+     */
+    private static final class CachedClass {
+
+        private final WeakReference<Class<?>> type;
+        private final RawMarker marker;
+
+        private CachedClass(@NotNull Class<?> type, @NotNull RawMarker marker) {
+            this.type = new WeakReference<>(type);
+            this.marker = marker;
+        }
     }
 
-    public static Class<?> build(@NotNull RawMarker rawMarker) {
+    private static final Logger LOG = Logger.getInstance(ClassFactory.class);
+
+    private static final String STRING_DESCRIPTOR = Descriptor.of(String.class.getName());
+
+    private static final AtomicLong SESSION_COUNTER = new AtomicLong();
+
+    /**
+     * Generated classes by {@link RawMarker#getClassHash()} of markers they were built from, classes
+     * are weakly referenced so their class loaders are unloaded once no mapping references them
+     */
+    private static final Map<Long, CachedClass> CLASS_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Root classes of most recent builds, they are the only classes referenced by factory itself, so
+     * repeated mappings reuse their classes while classes of all older builds can be unloaded
+     */
+    private static final int RECENT_BUILDS = 16;
+    private static final Deque<Class<?>> RECENT = new ArrayDeque<>(RECENT_BUILDS);
+
+    /**
+     * Class loaders of builds that are not unloaded yet and how many classes they defined
+     */
+    private static final Map<DummyClassLoader, Integer> CLASS_LOADERS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong LOADERS_CREATED = new AtomicLong();
+    private static final AtomicLong CLASSES_DEFINED = new AtomicLong();
+
+    private ClassFactory() {}
+
+    /**
+     * Marker is frozen and classes are reused for markers with same class structure as previously
+     * built ones. Classes are defined in class loader of each build with own package, so concurrent
+     * builds do not share any state except class cache and generated classes are unloaded once not
+     * referenced.
+     * <p>
+     * Class names are assigned to all class markers in single pass first, so each class is emitted as
+     * bytecode independently and classes are emitted in parallel.
+     *
+     * @param rawMarker to build class for
+     * @return classes built from marker structure with rules to generate their instances
+     */
+    public static ClassBuild build(@NotNull RawMarker rawMarker) {
         if (rawMarker.isEmpty())
             throw new ClassEmptyException();
 
         try {
-            final CtClass ctClass = buildInternal(rawMarker, new HashMap<>());
-            return Class.forName(ctClass.getName());
-        } catch (ClassBuildException e) {
+            final long started = System.nanoTime();
+            final Session session = new Session();
+            collectClasses(rawMarker.freeze(), session);
+            if (!session.markers.isEmpty()) {
+                JobLauncher.getInstance().invokeConcurrentlyUnderProgress(session.markers,
+                        ProgressManager.getInstance().getProgressIndicator(), marker -> {
+                            buildInternal(marker, session);
+                            return true;
+                        });
+            }
+
+            final ClassBuild built = session.define(rawMarker);
+            keepRecent(built.getTarget());
+            if (LOG.isDebugEnabled())
+                logStatistics(built.getTarget(), session.built.size(), System.nanoTime() - started);
+
+            return built;
+        } catch (ClassBuildException | ProcessCanceledException e) {
             throw e;
         } catch (Exception e) {
             throw new ClassBuildException(e);
+        } finally {
+            CLASS_CACHE.values().removeIf(cached -> cached.type.get() == null);
+        }
+    }
+
+    private static void keepRecent(@NotNull Class<?> target) {
+        synchronized (RECENT) {
+            RECENT.remove(target);
+            RECENT.addFirst(target);
+            if (RECENT.size() > RECENT_BUILDS)
+                RECENT.removeLast();
         }
     }
 
-    private static CtClass buildInternal(@NotNull RawMarker classMarker,
-                                         @NotNull Map<String, CtClass> scanned) {
-        final Map<String, Marker> structure = classMarker.getStructure();
-        final String className = getClassName(classMarker);
-        final String originClassName = getSourceClassName(classMarker);
-
-        // final int structureHash = structure.hashCode();
-        // final Integer hash = CLASS_CACHE.computeIfAbsent(originClassName, k -> -1);
-        // if (hash.equals(structureHash)) {
-        // final String prevClassName = getPrevClassName(structure);
-        // logger.debug("Retrieving CACHED class '{}' with generated name '{}' and structure hash '{}'",
-        // originClassName, prevClassName, structureHash);
-        // return CLASS_POOL.get(prevClassName);
-        // }
-        // logger.debug("CACHING class with name '{}' and structure hash '{}'", originClassName,
-        // structureHash);
-        // CLASS_CACHE.put(originClassName, structureHash);
-
-        final CtClass ownClass = getOrCreateCtClass(className);
-        scanned.put(originClassName, ownClass);
+    private static void logStatistics(@NotNull Class<?> built, int defined, long nanos) {
+        final int alive;
+        final int loaders;
+        synchronized (CLASS_LOADERS) {
+            alive = CLASS_LOADERS.values().stream().mapToInt(Integer::intValue).sum();
+            loaders = CLASS_LOADERS.size();
+        }
+
+        LOG.debug("Built class '" + built.getName() + "' with " + defined + " new classes in "
+                + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms, dummy classes alive/defined " + alive + "/"
+                + CLASSES_DEFINED.get() + " in class loaders alive/created " + loaders + "/" + LOADERS_CREATED.get());
+    }
+
+    private static Class<?> getCachedClass(long classHash, @NotNull RawMarker marker) {
+        final CachedClass cached = CLASS_CACHE.get(classHash);
+        return (cached == null || !cached.marker.isClassEqual(marker))
+                ? null
+                : cached.type.get();
+    }
+
+    /**
+     * Assigns generated class names to marker and all class markers reachable from it, classes of
+     * markers with cached class structure are reused
+     *
+     * @param classMarker to collect classes for
+     * @param session     to collect classes in
+     */
+    private static void collectClasses(@NotNull RawMarker classMarker,
+                                       @NotNull Session session) {
+        if (session.classNames.containsKey(classMarker))
+            return;
+
+        final long classHash = classMarker.getClassHash();
+        String className = session.getName(classHash, classMarker);
+        if (className == null) {
+            final Class<?> cached = getCachedClass(classHash, classMarker);
+            className = (cached == null)
+                    ? session.add(classMarker)
+                    : session.link(cached);
+
+            session.hashed.computeIfAbsent(classHash, k -> new ArrayList<>(1)).add(classMarker);
+            session.definitions.put(className, classMarker);
+        }
+
+        session.classNames.put(classMarker, className);
+        for (int i = 0; i < classMarker.size(); i++) {
+            ProgressManager.checkCanceled();
+            final Marker fieldMarker = classMarker.getFieldMarker(i);
+            if (fieldMarker.isEmpty())
+                continue;
+
+            if (fieldMarker instanceof RawMarker) {
+                collectClasses((RawMarker) fieldMarker, session);
+            } else if (fieldMarker instanceof ArrayMarker) {
+                collectErasureClasses(((ArrayMarker) fieldMarker).getErasure(), session);
+            } else if (fieldMarker instanceof CollectionMarker) {
+                collectErasureClasses(((CollectionMarker) fieldMarker).getErasure(), session);
+            } else if (fieldMarker instanceof MapMarker) {
+                collectErasureClasses(((MapMarker) fieldMarker).getKeyErasure(), session);
+                collectErasureClasses(((MapMarker) fieldMarker).getValueErasure(), session);
+            }
+        }
+    }
+
+    private static void collectErasureClasses(@NotNull Marker erasure, @NotNull Session session) {
+        if (erasure instanceof RawMarker)
+            collectClasses((RawMarker) erasure, session);
+    }
+
+    /**
+     * Emits class of marker as bytecode directly with field descriptors, generic signatures and
+     * annotations, classes of session are referenced by their names, so classes of single session can
+     * be emitted concurrently
+     *
+     * @param classMarker to build class for
+     * @param session     where class name is collected
+     */
+    private static void buildInternal(@NotNull RawMarker classMarker,
+                                      @NotNull Session session) {
+        final String className = session.classNames.get(classMarker);
+        final ClassFile classFile = new ClassFile(false, className, null);
+        classFile.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.SUPER);
+        final ConstPool constPool = classFile.getConstPool();
 
         try {
-            for (Map.Entry<String, Marker> entry : structure.entrySet()) {
-                final Marker fieldMarker = entry.getValue();
+            for (int i = 0; i < classMarker.size(); i++) {
+                ProgressManager.checkCanceled();
+                final Marker fieldMarker = classMarker.getFieldMarker(i);
                 if (fieldMarker.isEmpty())
                     continue;
 
-                final String fieldName = entry.getKey();
+                final String fieldName = classMarker.getFieldName(i);
                 if (fieldMarker instanceof ArrayMarker) {
                     final Marker erasure = ((ArrayMarker) fieldMarker).getErasure();
-                    final Class<?> type = getErasureType(erasure, scanned);
-                    final CtField field = getArrayField(fieldName, (ArrayMarker) fieldMarker, type, ownClass);
-                    ownClass.addField(field);
+                    final String type = getErasureDescriptor(erasure, session);
+                    classFile.addField2(getArrayField(fieldName, (ArrayMarker) fieldMarker, type, constPool));
                 } else if (fieldMarker instanceof CollectionMarker) {
                     final Marker erasure = ((CollectionMarker) fieldMarker).getErasure();
-                    final Class<?> type = getErasureType(erasure, scanned);
-                    final CtField field = getCollectionField(fieldName, (CollectionMarker) fieldMarker, type, ownClass);
-                    ownClass.addField(field);
+                    final String type = getErasureDescriptor(erasure, session);
+                    classFile.addField2(getCollectionField(fieldName, (CollectionMarker) fieldMarker, type, constPool));
                 } else if (fieldMarker instanceof MapMarker) {
                     final Marker keyErasure = ((MapMarker) fieldMarker).getKeyErasure();
                     final Marker valueErasure = ((MapMarker) fieldMarker).getValueErasure();
-                    final Class<?> keyType = getErasureType(keyErasure, scanned);
-                    final Class<?> valueType = getErasureType(valueErasure, scanned);
-                    final CtField field = getMapField(fieldName, (MapMarker) fieldMarker, keyType, valueType, ownClass);
-                    ownClass.addField(field);
+                    final String keyType = getErasureDescriptor(keyErasure, session);
+                    final String valueType = getErasureDescriptor(valueErasure, session);
+                    classFile.addField2(getMapField(fieldName, (MapMarker) fieldMarker, keyType, valueType, constPool));
                 } else if (fieldMarker instanceof TypedMarker) {
-                    final CtField field = getTypedField(fieldName, (TypedMarker) fieldMarker, ownClass);
-                    ownClass.addField(field);
+                    classFile.addField2(getTypedField(fieldName, (TypedMarker) fieldMarker, constPool));
                 } else if (fieldMarker instanceof EnumMarker) {
-                    final CtField field = getEnumField(fieldName, (EnumMarker) fieldMarker, ownClass);
-                    ownClass.addField(field);
+                    classFile.addField2(getEnumField(fieldName, (EnumMarker) fieldMarker, constPool));
                 } else if (fieldMarker instanceof RawMarker) {
-                    final String innerClassName = getSourceClassName((RawMarker) fieldMarker);
-                    CtClass innerClass = scanned.get(innerClassName);
-                    if (innerClass == null)
-                        innerClass = buildInternal((RawMarker) fieldMarker, scanned);
-
-                    final CtField field = getClassField(fieldName, innerClass, ownClass, (RawMarker) fieldMarker);
-                    ownClass.addField(field);
+                    final String innerClassName = session.classNames.get(fieldMarker);
+                    classFile.addField2(getClassField(fieldName, innerClassName, (RawMarker) fieldMarker, constPool));
                 }
             }
 
-            try {
-                Class.forName(className);
-                CLASS_SUFFIX_COUNTER.computeIfPresent(originClassName, (k, v) -> v + 1);
-                return ownClass;
-            } catch (Exception e) {
-                ownClass.toClass(ObjectMapper.class.getClassLoader(), null);
-                CLASS_SUFFIX_COUNTER.computeIfPresent(originClassName, (k, v) -> v + 1);
-                return ownClass;
+            classFile.addMethod2(getConstructor(constPool));
+            final ByteArrayOutputStream bytecode = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(bytecode)) {
+                classFile.write(output);
             }
-        } catch (ClassBuildException e) {
+
+            session.loader.add(className, bytecode.toByteArray());
+        } catch (ClassBuildException | ProcessCanceledException e) {
             throw e;
         } catch (Exception e) {
             throw new ClassBuildException(e);
         }
     }
 
-    private static Class<?> getErasureType(@NotNull Marker erasure,
-                                           @NotNull Map<String, CtClass> scanned) {
+    /**
+     * @return public no arguments constructor that only calls {@link Object} constructor
+     */
+    private static MethodInfo getConstructor(@NotNull ConstPool constPool) {
+        final Bytecode code = new Bytecode(constPool, 1, 1);
+        code.addAload(0);
+        code.addInvokespecial(Object.class.getName(), MethodInfo.nameInit, "()V");
+        code.addOpcode(Opcode.RETURN);
+
+        final MethodInfo constructor = new MethodInfo(constPool, MethodInfo.nameInit, "()V");
+        constructor.setAccessFlags(AccessFlag.PUBLIC);
+        constructor.setCodeAttribute(code.toCodeAttribute());
+        return constructor;
+    }
+
+    private static String getErasureDescriptor(@NotNull Marker erasure,
+                                               @NotNull Session session) {
         if (erasure instanceof TypedMarker) {
-            return ((TypedMarker) erasure).getType();
-        } else if (erasure instanceof EnumMarker) {
-            return String.class;
+            return getDescriptor(((TypedMarker) erasure).getType());
         } else if (erasure instanceof RawMarker) {
-            try {
-                final String className = getSourceClassName((RawMarker) erasure);
-                CtClass internal = scanned.get(className);
-                if (internal == null)
-                    internal = buildInternal((RawMarker) erasure, scanned);
-
-                return Class.forName(internal.getName());
-            } catch (ClassNotFoundException e) {
-                return String.class;
-            }
+            return Descriptor.of(session.classNames.get(erasure));
         } else {
-            return String.class;
+            return STRING_DESCRIPTOR;
         }
     }
 
-    private static CtClass getOrCreateCtClass(@NotNull String className) {
-        try {
-            // Clean previously used class (actually doesn't work such way)
-            final CtClass ctClass = CLASS_POOL.get(className);
-            ctClass.defrost();
-            for (CtField field : ctClass.getFields())
-                ctClass.removeField(field);
-
-            return ctClass;
-        } catch (NotFoundException ex) {
-            return CLASS_POOL.makeClass(className);
-        }
+    private static String getDescriptor(@NotNull Class<?> type) {
+        return (type.isArray())
+                ? Descriptor.toJvmName(type.getName())
+                : Descriptor.of(type.getName());
     }
 
-    private static CtField getTypedField(@NotNull String fieldName,
-                                         @NotNull TypedMarker marker,
-                                         @NotNull CtClass owner) {
-        try {
-            final String src = String.format("public %s %s;", marker.getType().getName(), fieldName);
-            final CtField field = CtField.make(src, owner);
-            return addAnnotationInfo(field, marker);
-        } catch (CannotCompileException e) {
-            throw new ClassBuildException(e);
-        }
+    /**
+     * @param type      generic type descriptor
+     * @param arguments type arguments descriptors
+     * @return generic signature of type with arguments
+     */
+    private static String getSignature(@NotNull String type, @NotNull String... arguments) {
+        return type.substring(0, type.length() - 1) + "<" + String.join("", arguments) + ">;";
     }
 
-    private static CtField getArrayField(@NotNull String fieldName,
-                                         @NotNull ArrayMarker marker,
-                                         @NotNull Class<?> erasure,
-                                         @NotNull CtClass owner) {
-        try {
-            final String src = String.format("public %s[] %s;", erasure.getName(), fieldName);
-            final CtField field = CtField.make(src, owner);
-            return addAnnotationInfo(field, marker);
-        } catch (CannotCompileException e) {
-            throw new ClassBuildException(e);
-        }
+    private static FieldInfo getField(@NotNull String fieldName,
+                                      @NotNull String descriptor,
+                                      @NotNull ConstPool constPool) {
+        final FieldInfo field = new FieldInfo(constPool, fieldName, descriptor);
+        field.setAccessFlags(AccessFlag.PUBLIC);
+        return field;
     }
 
-    private static CtField getCollectionField(@NotNull String fieldName,
-                                              @NotNull CollectionMarker marker,
-                                              @NotNull Class<?> erasure,
-                                              @NotNull CtClass owner) {
-        try {
-            final String src = String.format("public %s %s;", marker.getType().getName(), fieldName);
-            final SignatureAttribute.ClassType signature = new SignatureAttribute.ClassType(marker.getType().getName(),
-                    new SignatureAttribute.TypeArgument[] {
-                            new SignatureAttribute.TypeArgument(new SignatureAttribute.ClassType(erasure.getName())) });
-
-            final CtField field = CtField.make(src, owner);
-            field.setGenericSignature(signature.encode());
-            return addAnnotationInfo(field, marker);
-        } catch (CannotCompileException e) {
-            throw new ClassBuildException(e);
-        }
+    private static FieldInfo getTypedField(@NotNull String fieldName,
+                                           @NotNull TypedMarker marker,
+                                           @NotNull ConstPool constPool) {
+        final FieldInfo field = getField(fieldName, getDescriptor(marker.getType()), constPool);
+        return addAnnotationInfo(field, marker);
     }
 
-    private static CtField getMapField(@NotNull String fieldName,
-                                       @NotNull MapMarker marker,
-                                       @NotNull Class<?> keyErasure,
-                                       @NotNull Class<?> valueErasure,
-                                       @NotNull CtClass owner) {
-        try {
-            final String src = String.format("public %s %s;", marker.getType().getName(), fieldName);
-            final SignatureAttribute.ClassType signature = new SignatureAttribute.ClassType(marker.getType().getName(),
-                    new SignatureAttribute.TypeArgument[] {
-                            new SignatureAttribute.TypeArgument(new SignatureAttribute.ClassType(keyErasure.getName())),
-                            new SignatureAttribute.TypeArgument(new SignatureAttribute.ClassType(valueErasure.getName()))
-                    });
-
-            final CtField field = CtField.make(src, owner);
-            field.setGenericSignature(signature.encode());
-            return addAnnotationInfo(field, marker);
-        } catch (CannotCompileException e) {
-            throw new ClassBuildException(e);
-        }
+    private static FieldInfo getArrayField(@NotNull String fieldName,
+                                           @NotNull ArrayMarker marker,
+                                           @NotNull String erasure,
+                                           @NotNull ConstPool constPool) {
+        final FieldInfo field = getField(fieldName, "[" + erasure, constPool);
+        return addAnnotationInfo(field, marker);
     }
 
-    private static CtField getEnumField(@NotNull String fieldName,
-                                        @NotNull EnumMarker marker,
-                                        @NotNull CtClass owner) {
-        try {
-            final String src = String.format("public java.lang.String %s;", fieldName);
-            final CtField field = CtField.make(src, owner);
-            return addAnnotationInfo(field, marker);
-        } catch (CannotCompileException e) {
-            throw new ClassBuildException(e);
-        }
+    private static FieldInfo getCollectionField(@NotNull String fieldName,
+                                                @NotNull CollectionMarker marker,
+                                                @NotNull String erasure,
+                                                @NotNull ConstPool constPool) {
+        final String descriptor = getDescriptor(marker.getType());
+        final FieldInfo field = getField(fieldName, descriptor, constPool);
+        field.addAttribute(new SignatureAttribute(constPool, getSignature(descriptor, erasure)));
+        return addAnnotationInfo(field, marker);
     }
 
-    private static CtField getClassField(@NotNull String fieldName,
-                                         @NotNull CtClass fieldClass,
-                                         @NotNull CtClass owner,
-                                         @NotNull RawMarker marker) {
-        try {
-            final String src = String.format("public %s %s;", fieldClass.getName(), fieldName);
-            final CtField field = CtField.make(src, owner);
-            return addAnnotationInfo(field, marker);
-        } catch (CannotCompileException e) {
-            throw new ClassBuildException(e);
-        }
+    private static FieldInfo getMapField(@NotNull String fieldName,
+                                         @NotNull MapMarker marker,
+                                         @NotNull String keyErasure,
+                                         @NotNull String valueErasure,
+                                         @NotNull ConstPool constPool) {
+        final String descriptor = getDescriptor(marker.getType());
+        final FieldInfo field = getField(fieldName, descriptor, constPool);
+        field.addAttribute(new SignatureAttribute(constPool, getSignature(descriptor, keyErasure, valueErasure)));
+        return addAnnotationInfo(field, marker);
     }
 
-    private static CtField addAnnotationInfo(@NotNull CtField field,
-                                             @NotNull Marker marker) {
+    private static FieldInfo getEnumField(@NotNull String fieldName,
+                                          @NotNull EnumMarker marker,
+                                          @NotNull ConstPool constPool) {
+        final FieldInfo field = getField(fieldName, STRING_DESCRIPTOR, constPool);
+        return addAnnotationInfo(field, marker);
+    }
+
+    private static FieldInfo getClassField(@NotNull String fieldName,
+                                           @NotNull String fieldClass,
+                                           @NotNull RawMarker marker,
+                                           @NotNull ConstPool constPool) {
+        final FieldInfo field = getField(fieldName, Descriptor.of(fieldClass), constPool);
+        return addAnnotationInfo(field, marker);
+    }
+
+    private static FieldInfo addAnnotationInfo(@NotNull FieldInfo fieldInfo,
+                                               @NotNull Marker marker) {
         if (marker.getAnnotations().isEmpty())
-            return field;
+            return fieldInfo;
 
-        final FieldInfo fieldInfo = field.getFieldInfo();
         final ConstPool constPool = fieldInfo.getConstPool();
 
         final AnnotationsAttribute attribute = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
@@ -340,7 +478,7 @@ private static CtField addAnnotationInfo(@NotNull CtField field,
         if (CollectionUtils.isNotEmpty(attribute.getAnnotations()))
             fieldInfo.addAttribute(attribute);
 
-        return field;
+        return fieldInfo;
     }
 
     private static Optional<MemberValue> getMember(Object v, ConstPool constPool) {
@@ -383,32 +521,12 @@ private static String getSourceClassName(@NotNull RawMarker marker) {
         return getClassNameFromPackage(marker.getSource());
     }
 
-    private static String getRootClassName(@NotNull RawMarker marker) {
-        return getClassNameFromPackage(marker.getRoot());
-    }
-
-    private static String getClassName(@NotNull Marker marker) {
-        final String name = getClassNameFromPackage(marker.getSource());
-        return getClassNameWithSuffix(name);
-    }
-
-    private static String getClassNameWithSuffix(@NotNull String name) {
-        final Integer num = CLASS_SUFFIX_COUNTER.computeIfAbsent(name, k -> 0);
-        return getClassPackage(num) + "." + name;
-    }
-
-    private static String getPrevClassName(@NotNull Marker marker) {
-        final String originClassName = getClassNameFromPackage(marker.getRoot());
-        final int num = CLASS_SUFFIX_COUNTER.computeIfAbsent(originClassName, k -> 1) - 1;
-        return getClassPackage(num) + "." + originClassName;
-    }
-
     private static String getClassNameFromPackage(@NotNull String source) {
         final int lastIndexOf = source.lastIndexOf('.', source.length() - 6);
         return source.substring(lastIndexOf + 1, source.length() - 5);
     }
 
-    private static String getClassPackage(int num) {
+    private static String getClassPackage(long num) {
         return "io.goodforgod.dummymapper.dummies_" + num;
     }
 }
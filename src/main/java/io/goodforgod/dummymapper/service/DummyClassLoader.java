@@ -0,0 +1,61 @@
+package io.goodforgod.dummymapper.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Class loader for classes generated by single {@link ClassFactory} build, so all of them can be
+ * unloaded once loader is not referenced
+ * <p>
+ * Classes are added as bytecode and defined when they are loaded first time, so classes compiled
+ * concurrently can be added in any order. Classes reused from previous builds are linked to loader,
+ * so generated classes can reference them.
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @see ClassFactory
+ * @since 17.10.2026
+ */
+final class DummyClassLoader extends ClassLoader {
+
+    private final Map<String, Class<?>> linked = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> bytecodes = new ConcurrentHashMap<>();
+
+    DummyClassLoader(@NotNull ClassLoader parent) {
+        super(parent);
+    }
+
+    void link(@NotNull Class<?> type) {
+        linked.put(type.getName(), type);
+    }
+
+    void add(@NotNull String name, byte[] bytecode) {
+        bytecodes.put(name, bytecode);
+    }
+
+    /**
+     * Classes of loader are loaded before delegating to parent, so generated classes are not looked
+     * up in parent first
+     */
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> type = linked.get(name);
+            if (type == null)
+                type = findLoadedClass(name);
+
+            if (type == null) {
+                final byte[] bytecode = bytecodes.remove(name);
+                if (bytecode == null)
+                    return super.loadClass(name, resolve);
+
+                type = defineClass(name, bytecode, 0, bytecode.length);
+            }
+
+            if (resolve)
+                resolveClass(type);
+
+            return type;
+        }
+    }
+}
@@ -5,17 +5,11 @@
 import io.dummymaker.model.GenRule;
 import io.dummymaker.model.GenRules;
 import io.dummymaker.util.CollectionUtils;
-import io.dummymaker.util.StringUtils;
 import io.goodforgod.dummymapper.marker.*;
-import io.goodforgod.dummymapper.model.AnnotationMarker;
-import io.goodforgod.dummymapper.model.AnnotationMarkerBuilder;
 import io.goodforgod.dummymapper.scanner.impl.PsiJavaFileScanner;
-import io.goodforgod.dummymapper.util.MarkerUtils;
 import java.util.*;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -27,100 +21,48 @@
  */
 public class GenFactoryProvider {
 
-    private static final String VISITED = "_rules_visited";
-    private static final Predicate<RawMarker> IS_VISITED = m -> m.getAnnotations().stream()
-            .filter(AnnotationMarker::isInternal)
-            .anyMatch(a -> a.getName().equals(VISITED));
-
     private GenFactoryProvider() {}
 
     /**
-     * @param rawMarker data from JavaFileScanner
-     * @return builds GenFactory based on scanned data from java file scanner
+     * @param build classes built from data of JavaFileScanner
+     * @return builds GenFactory with rules collected while classes were built
      * @see PsiJavaFileScanner
      * @see ClassFactory
      */
-    public static GenFactory get(@NotNull RawMarker rawMarker) {
-        final Map<String, String> mappedClasses = ClassFactory.getMappedClasses(rawMarker);
-        final List<GenRule> rules = getRules(rawMarker, mappedClasses);
-        return new GenFactory(GenRules.of(rules));
+    public static GenFactory get(@NotNull ClassBuild build) {
+        return new GenFactory(GenRules.of(build.getRules()));
     }
 
-    private static List<GenRule> getRules(@NotNull RawMarker marker,
-                                          @NotNull Map<String, String> mappedClasses) {
-        if (marker.isEmpty())
-            return Collections.emptyList();
-
-        if (IS_VISITED.test(marker))
-            return Collections.emptyList();
-
-        marker.addAnnotation(AnnotationMarkerBuilder.get().ofInternal().withName(VISITED).build());
-
-        final Map<String, Marker> structure = marker.getStructure();
-        final Optional<String> mapped = structure.values().stream()
-                .map(m -> mappedClasses.get(m.getRoot()))
-                .filter(StringUtils::isNotEmpty)
-                .findFirst();
-
-        if (!mapped.isPresent())
-            return Collections.emptyList();
-
-        try {
-            final GenRule rule = GenRule.auto(Class.forName(mapped.get()), 10);
-            structure.forEach((k, v) -> {
-                if (v instanceof EnumMarker) {
-                    final IGenerator<String> generator = () -> CollectionUtils.random(((EnumMarker) v).getValues());
-                    rule.add(generator, k);
-                } else if (v instanceof CollectionMarker && ((CollectionMarker) v).getErasure() instanceof EnumMarker) {
-                    final EnumMarker erasure = (EnumMarker) ((CollectionMarker) v).getErasure();
-                    final int total = CollectionUtils.random(1, erasure.getValues().size());
-                    final IGenerator<Collection<String>> generator = () -> IntStream.range(0, total)
-                            .mapToObj(i -> erasure.getValues().get(i))
-                            .collect(Collectors.toCollection(() -> Set.class.isAssignableFrom(((CollectionMarker) v).getType())
-                                    ? new HashSet<>()
-                                    : new ArrayList<>()));
-                    rule.add(generator, k);
-                } else if (v instanceof ArrayMarker && ((ArrayMarker) v).getErasure() instanceof EnumMarker) {
-                    final EnumMarker erasure = (EnumMarker) ((ArrayMarker) v).getErasure();
-                    final int total = CollectionUtils.random(1, erasure.getValues().size());
-                    final IGenerator<String[]> generator = () -> IntStream.range(0, total)
-                            .mapToObj(i -> erasure.getValues().get(i))
-                            .toArray(String[]::new);
-                    rule.add(generator, k);
-                }
-            });
-
-            final List<GenRule> rawRules = MarkerUtils.streamRawMarkers(structure)
-                    .flatMap(m -> getRules(m, mappedClasses).stream())
-                    .collect(Collectors.toList());
-
-            final List<GenRule> arrayRules = MarkerUtils.streamArrayRawMarkers(structure)
-                    .flatMap(m -> getRules(((RawMarker) m.getErasure()), mappedClasses).stream())
-                    .collect(Collectors.toList());
-
-            final List<GenRule> collectionRules = MarkerUtils.streamCollectionRawMarkers(structure)
-                    .flatMap(m -> getRules(((RawMarker) m.getErasure()), mappedClasses).stream())
-                    .collect(Collectors.toList());
-
-            final List<GenRule> mapRules = MarkerUtils.streamMapRawMarkers(structure)
-                    .flatMap(m -> {
-                        final Stream<GenRule> stream1 = m.getKeyErasure() instanceof RawMarker
-                                ? getRules(((RawMarker) m.getKeyErasure()), mappedClasses).stream()
-                                : Stream.empty();
-
-                        final Stream<GenRule> stream2 = m.getValueErasure() instanceof RawMarker
-                                ? getRules(((RawMarker) m.getValueErasure()), mappedClasses).stream()
-                                : Stream.empty();
-
-                        return Stream.concat(stream1, stream2);
-                    })
-                    .collect(Collectors.toList());
-
-            return Stream.of(Collections.singletonList(rule), rawRules, arrayRules, collectionRules, mapRules)
-                    .flatMap(Collection::stream)
-                    .collect(Collectors.toList());
-        } catch (ClassNotFoundException e) {
-            throw new IllegalArgumentException(e.getMessage(), e);
-        }
+    /**
+     * @param type   class built for marker
+     * @param marker class marker with fields of type
+     * @return rule for type with generators for enum fields
+     */
+    static GenRule getRule(@NotNull Class<?> type, @NotNull RawMarker marker) {
+        final GenRule rule = GenRule.auto(type, 10);
+        marker.getStructure().forEach((k, v) -> {
+            if (v instanceof EnumMarker) {
+                final IGenerator<String> generator = () -> CollectionUtils.random(((EnumMarker) v).getValues());
+                rule.add(generator, k);
+            } else if (v instanceof CollectionMarker && ((CollectionMarker) v).getErasure() instanceof EnumMarker) {
+                final EnumMarker erasure = (EnumMarker) ((CollectionMarker) v).getErasure();
+                final int total = CollectionUtils.random(1, erasure.getValues().size());
+                final IGenerator<Collection<String>> generator = () -> IntStream.range(0, total)
+                        .mapToObj(i -> erasure.getValues().get(i))
+                        .collect(Collectors.toCollection(() -> Set.class.isAssignableFrom(((CollectionMarker) v).getType())
+                                ? new HashSet<>()
+                                : new ArrayList<>()));
+                rule.add(generator, k);
+            } else if (v instanceof ArrayMarker && ((ArrayMarker) v).getErasure() instanceof EnumMarker) {
+                final EnumMarker erasure = (EnumMarker) ((ArrayMarker) v).getErasure();
+                final int total = CollectionUtils.random(1, erasure.getValues().size());
+                final IGenerator<String[]> generator = () -> IntStream.range(0, total)
+                        .mapToObj(i -> erasure.getValues().get(i))
+                        .toArray(String[]::new);
+                rule.add(generator, k);
+            }
+        });
+
+        return rule;
     }
 }
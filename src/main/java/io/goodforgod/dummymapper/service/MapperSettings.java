@@ -0,0 +1,92 @@
+package io.goodforgod.dummymapper.service;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.util.xmlb.XmlSerializerUtil;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Application level plugin settings
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @see io.goodforgod.dummymapper.ui.MapperSettingsConfigurable
+ * @since 17.10.2026
+ */
+@State(name = "DummyMapperSettings", storages = @Storage("dummymapper.xml"))
+public final class MapperSettings implements PersistentStateComponent<MapperSettings.Settings> {
+
+    public static class Settings {
+
+        /**
+         * Resolve classes through stub indexes only and report class files which AST was loaded anyway
+         */
+        public boolean stubScanning = false;
+
+        /**
+         * Scan classes of mapped class fields concurrently
+         */
+        public boolean parallelScanning = false;
+
+        /**
+         * Scan classes opened in editor in background, so their mapping is faster
+         */
+        public boolean preScanning = false;
+
+        /**
+         * Maximum depth of nested classes scanned from mapped class, 0 means unlimited
+         */
+        public int maxScanDepth = 0;
+    }
+
+    private Settings settings = new Settings();
+
+    public static @NotNull MapperSettings getInstance() {
+        return ApplicationManager.getApplication().getService(MapperSettings.class);
+    }
+
+    @NotNull
+    @Override
+    public Settings getState() {
+        return settings;
+    }
+
+    @Override
+    public void loadState(@NotNull Settings state) {
+        this.settings = new Settings();
+        XmlSerializerUtil.copyBean(state, this.settings);
+    }
+
+    public boolean isStubScanning() {
+        return settings.stubScanning;
+    }
+
+    public void setStubScanning(boolean stubScanning) {
+        settings.stubScanning = stubScanning;
+    }
+
+    public boolean isParallelScanning() {
+        return settings.parallelScanning;
+    }
+
+    public void setParallelScanning(boolean parallelScanning) {
+        settings.parallelScanning = parallelScanning;
+    }
+
+    public boolean isPreScanning() {
+        return settings.preScanning;
+    }
+
+    public void setPreScanning(boolean preScanning) {
+        settings.preScanning = preScanning;
+    }
+
+    public int getMaxScanDepth() {
+        return settings.maxScanDepth;
+    }
+
+    public void setMaxScanDepth(int maxScanDepth) {
+        settings.maxScanDepth = Math.max(0, maxScanDepth);
+    }
+}
@@ -0,0 +1,118 @@
+package io.goodforgod.dummymapper.service;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.lang.jvm.JvmClassKind;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileEditorManagerEvent;
+import com.intellij.openapi.fileEditor.FileEditorManagerListener;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.LowMemoryWatcher;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import java.util.concurrent.ExecutorService;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Scans classes opened or selected in editor in background into {@link ScanCacheService}, so
+ * following mapping of such class does not wait for scan
+ * <p>
+ * Scans run one at a time in smart mode only, newer selection cancels pending scan and scans are
+ * skipped while memory is low.
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @see MapperSettings#isPreScanning()
+ * @since 17.10.2026
+ */
+public final class PreScanService implements Disposable {
+
+    /**
+     * Schedules pre-scan for file selected in editor
+     */
+    public static class EditorListener implements FileEditorManagerListener {
+
+        private final Project project;
+
+        public EditorListener(@NotNull Project project) {
+            this.project = project;
+        }
+
+        @Override
+        public void selectionChanged(@NotNull FileEditorManagerEvent event) {
+            final VirtualFile file = event.getNewFile();
+            if (file != null && MapperSettings.getInstance().isPreScanning())
+                getInstance(project).schedule(file);
+        }
+    }
+
+    private static final Logger LOG = Logger.getInstance(PreScanService.class);
+
+    private static final long LOW_MEMORY_BACKOFF_MILLIS = 60_000;
+    private static final double MIN_FREE_MEMORY_RATIO = 0.2;
+
+    private final Project project;
+    private final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("DummyMapper Pre-Scan", 1);
+
+    private volatile long lowMemoryMillis = 0;
+
+    public PreScanService(@NotNull Project project) {
+        this.project = project;
+        LowMemoryWatcher.register(() -> lowMemoryMillis = System.currentTimeMillis(), this);
+    }
+
+    public static @NotNull PreScanService getInstance(@NotNull Project project) {
+        return project.getService(PreScanService.class);
+    }
+
+    public void schedule(@NotNull VirtualFile file) {
+        if (!JavaFileType.INSTANCE.equals(file.getFileType()) || isMemoryLow())
+            return;
+
+        ReadAction.nonBlocking(() -> preScan(file))
+                .inSmartMode(project)
+                .coalesceBy(this)
+                .expireWith(this)
+                .submit(executor);
+    }
+
+    private void preScan(@NotNull VirtualFile file) {
+        if (!file.isValid() || isMemoryLow())
+            return;
+
+        final PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (!(psiFile instanceof PsiJavaFile) || ((PsiJavaFile) psiFile).getClasses().length == 0)
+            return;
+
+        final PsiClass target = ((PsiJavaFile) psiFile).getClasses()[0];
+        if (!JvmClassKind.CLASS.equals(target.getClassKind()))
+            return;
+
+        try {
+            ScanCacheService.getInstance(project).preScan(target);
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.debug("Pre-scan failed for class: " + target.getQualifiedName(), e);
+        }
+    }
+
+    private boolean isMemoryLow() {
+        if (System.currentTimeMillis() - lowMemoryMillis < LOW_MEMORY_BACKOFF_MILLIS)
+            return true;
+
+        final Runtime runtime = Runtime.getRuntime();
+        final long used = runtime.totalMemory() - runtime.freeMemory();
+        return (double) (runtime.maxMemory() - used) / runtime.maxMemory() < MIN_FREE_MEMORY_RATIO;
+    }
+
+    @Override
+    public void dispose() {
+        executor.shutdownNow();
+    }
+}
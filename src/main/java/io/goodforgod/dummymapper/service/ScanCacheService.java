@@ -0,0 +1,184 @@
+package io.goodforgod.dummymapper.service;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeAnyChangeAbstractAdapter;
+import io.goodforgod.dummymapper.marker.Marker;
+import io.goodforgod.dummymapper.marker.RawMarker;
+import io.goodforgod.dummymapper.scanner.impl.PsiJavaFileScanner;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Project level cache for scanned class structures, so repeated mapping of same class doesn't
+ * require PSI resolution.
+ * <p>
+ * Each cached structure is registered as dependent of all classes it includes, so change in any
+ * Java file invalidates only structures of its classes and structures that reach them, all other
+ * structures are reused by next scan.
+ * <p>
+ * Cached markers are frozen, so same marker can be mapped to any format (filters do not modify
+ * markers) and markers are compared by their structural hashes.
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @see PsiJavaFileScanner
+ * @since 17.10.2026
+ */
+public final class ScanCacheService implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(ScanCacheService.class);
+
+    /**
+     * Pre-scan cache hit rate is logged once per such number of scan requests
+     */
+    private static final int HIT_RATE_LOG_PERIOD = 20;
+
+    private final Map<String, Map<String, Marker>> structures = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+    private final Map<VirtualFile, Set<String>> fileSources = new ConcurrentHashMap<>();
+
+    /**
+     * Sources scanned by {@link PreScanService} and how many scans of them were served from cache
+     */
+    private final Set<String> preScanned = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger scanRequests = new AtomicInteger();
+    private final AtomicInteger preScanHits = new AtomicInteger();
+
+    public ScanCacheService(@NotNull Project project) {
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeAnyChangeAbstractAdapter() {
+
+            @Override
+            protected void onChange(@Nullable PsiFile file) {
+                if (file == null) {
+                    clear();
+                } else if (file instanceof PsiJavaFile) {
+                    invalidate(file);
+                }
+            }
+        }, this);
+    }
+
+    public static @NotNull ScanCacheService getInstance(@NotNull Project project) {
+        return project.getService(ScanCacheService.class);
+    }
+
+    /**
+     * @param target class to scan
+     * @return frozen scanned marker where all unchanged class structures are taken from cache
+     */
+    public @NotNull RawMarker scan(@NotNull PsiClass target) {
+        return scan(target, Collections.emptySet());
+    }
+
+    /**
+     * @param target class to scan
+     * @param fields names of target fields to scan only, all fields are scanned if empty
+     * @return frozen scanned marker where all unchanged class structures are taken from cache
+     */
+    public @NotNull RawMarker scan(@NotNull PsiClass target, @NotNull Set<String> fields) {
+        return scanInternal(target, fields, true);
+    }
+
+    /**
+     * Scans class into cache
+     *
+     * @param target class to scan
+     */
+    public void preScan(@NotNull PsiClass target) {
+        scanInternal(target, Collections.emptySet(), false);
+        preScanned.add(target.getQualifiedName() + ".java");
+    }
+
+    /**
+     * @return number of scan requests (pre-scans are not counted)
+     */
+    public int getScanRequests() {
+        return scanRequests.get();
+    }
+
+    /**
+     * @return number of scan requests for pre-scanned classes that were served from cache
+     */
+    public int getPreScanHits() {
+        return preScanHits.get();
+    }
+
+    private void countRequest(@NotNull PsiClass target, @NotNull PsiJavaFileScanner scanner) {
+        final boolean preScanHit = scanner.isCached() && preScanned.contains(target.getQualifiedName() + ".java");
+        final int requests = scanRequests.incrementAndGet();
+        final int hits = (preScanHit)
+                ? preScanHits.incrementAndGet()
+                : preScanHits.get();
+        if (requests % HIT_RATE_LOG_PERIOD == 0 && MapperSettings.getInstance().isPreScanning())
+            LOG.info("Pre-scan cache hit rate is " + hits + "/" + requests + " for scan requests");
+    }
+
+    private @NotNull RawMarker scanInternal(@NotNull PsiClass target, @NotNull Set<String> fields, boolean request) {
+        final MapperSettings settings = MapperSettings.getInstance();
+        final boolean stubOnly = settings.isStubScanning();
+        final PsiJavaFileScanner scanner = new PsiJavaFileScanner(structures, stubOnly, settings.isParallelScanning(),
+                settings.getMaxScanDepth());
+        final RawMarker marker = scanner.scan(target, fields);
+        if (request)
+            countRequest(target, scanner);
+        if (stubOnly && !scanner.getAstLoadedFiles().isEmpty())
+            LOG.warn("Stub scanning of '" + target.getQualifiedName() + "' had to load AST for files: "
+                    + scanner.getAstLoadedFiles());
+        if (!scanner.getTruncatedSources().isEmpty())
+            LOG.info("Scan of '" + target.getQualifiedName() + "' stopped at maximum depth " + settings.getMaxScanDepth()
+                    + ", classes mapped as string fields: " + scanner.getTruncatedSources());
+
+        scanner.getDependencies().forEach((source, sources) -> sources
+                .forEach(s -> dependents.computeIfAbsent(s, k -> ConcurrentHashMap.newKeySet()).add(source)));
+        scanner.getSourceFiles().forEach((source, file) -> fileSources
+                .computeIfAbsent(file, k -> ConcurrentHashMap.newKeySet()).add(source));
+        final Map<String, Map<String, Marker>> completed = scanner.getCompletedStructures();
+        completed.values().forEach(structure -> structure.values().forEach(Marker::freeze));
+        structures.putAll(completed);
+
+        return marker.freeze();
+    }
+
+    public void clear() {
+        structures.clear();
+        dependents.clear();
+        fileSources.clear();
+        preScanned.clear();
+    }
+
+    private void invalidate(@NotNull PsiFile file) {
+        final VirtualFile virtualFile = file.getVirtualFile();
+        final Set<String> sources = (virtualFile == null)
+                ? null
+                : fileSources.remove(virtualFile);
+        if (sources == null)
+            return;
+
+        final Deque<String> queue = new ArrayDeque<>(sources);
+        final Set<String> visited = new HashSet<>();
+        while (!queue.isEmpty()) {
+            final String source = queue.poll();
+            if (!visited.add(source))
+                continue;
+
+            structures.remove(source);
+            final Set<String> sourceDependents = dependents.remove(source);
+            if (sourceDependents != null)
+                queue.addAll(sourceDependents);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+    }
+}
@@ -0,0 +1,111 @@
+package io.goodforgod.dummymapper.ui;
+
+import com.intellij.openapi.options.Configurable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import io.goodforgod.dummymapper.service.MapperSettings;
+import io.goodforgod.dummymapper.service.ScanCacheService;
+import java.awt.*;
+import javax.swing.*;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Settings page for {@link MapperSettings}
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @since 17.10.2026
+ */
+public class MapperSettingsConfigurable implements Configurable {
+
+    private JCheckBox stubScanning;
+    private JCheckBox parallelScanning;
+    private JCheckBox preScanning;
+    private JSpinner maxScanDepth;
+    private JLabel preScanHitRate;
+
+    @Nls
+    @Override
+    public String getDisplayName() {
+        return "DummyMapper";
+    }
+
+    @Nullable
+    @Override
+    public JComponent createComponent() {
+        stubScanning = new JCheckBox("Scan classes using stubs only (without loading class files AST)");
+        parallelScanning = new JCheckBox("Scan classes of fields in parallel (for classes with many nested classes)");
+        preScanning = new JCheckBox("Scan classes opened in editor in background");
+        maxScanDepth = new JSpinner(new SpinnerNumberModel(0, 0, 100, 1));
+        preScanHitRate = new JLabel();
+
+        final JPanel depthPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        depthPanel.add(new JLabel("Maximum depth of scanned nested classes (0 is unlimited, deeper classes are mapped as strings): "));
+        depthPanel.add(maxScanDepth);
+
+        final JPanel panel = new JPanel(new GridLayout(0, 1));
+        panel.add(stubScanning);
+        panel.add(parallelScanning);
+        panel.add(preScanning);
+        panel.add(preScanHitRate);
+        panel.add(depthPanel);
+
+        final JPanel wrapper = new JPanel(new BorderLayout());
+        wrapper.add(panel, BorderLayout.NORTH);
+        return wrapper;
+    }
+
+    @Override
+    public boolean isModified() {
+        final MapperSettings settings = MapperSettings.getInstance();
+        return stubScanning.isSelected() != settings.isStubScanning()
+                || parallelScanning.isSelected() != settings.isParallelScanning()
+                || preScanning.isSelected() != settings.isPreScanning()
+                || (int) maxScanDepth.getValue() != settings.getMaxScanDepth();
+    }
+
+    @Override
+    public void apply() {
+        final MapperSettings settings = MapperSettings.getInstance();
+        settings.setStubScanning(stubScanning.isSelected());
+        settings.setParallelScanning(parallelScanning.isSelected());
+        settings.setPreScanning(preScanning.isSelected());
+        settings.setMaxScanDepth((int) maxScanDepth.getValue());
+    }
+
+    @Override
+    public void reset() {
+        final MapperSettings settings = MapperSettings.getInstance();
+        stubScanning.setSelected(settings.isStubScanning());
+        parallelScanning.setSelected(settings.isParallelScanning());
+        preScanning.setSelected(settings.isPreScanning());
+        maxScanDepth.setValue(settings.getMaxScanDepth());
+        preScanHitRate.setText(getPreScanHitRate());
+    }
+
+    /**
+     * @return hit rate of background scans for mappings in all open projects
+     */
+    private static String getPreScanHitRate() {
+        int requests = 0;
+        int hits = 0;
+        for (Project project : ProjectManager.getInstance().getOpenProjects()) {
+            final ScanCacheService cache = project.getServiceIfCreated(ScanCacheService.class);
+            if (cache != null) {
+                requests += cache.getScanRequests();
+                hits += cache.getPreScanHits();
+            }
+        }
+
+        return "Background scan was used by " + hits + " of " + requests + " mappings in open projects";
+    }
+
+    @Override
+    public void disposeUIResources() {
+        stubScanning = null;
+        parallelScanning = null;
+        preScanning = null;
+        maxScanDepth = null;
+        preScanHitRate = null;
+    }
+}
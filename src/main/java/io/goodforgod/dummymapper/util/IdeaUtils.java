@@ -2,13 +2,21 @@
 
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.SelectionModel;
 import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiJavaFile;
 import java.awt.datatransfer.StringSelection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * @author Anton Kurako (GoodforGod)
@@ -32,6 +40,37 @@ public static Optional<PsiClass> getPsiClassFromAction(AnActionEvent event) {
                 : Optional.empty();
     }
 
+    /**
+     * @param event    from IDE
+     * @param psiClass which fields are selected
+     * @return names of class fields which are (even partially) selected in editor, empty if none
+     */
+    public static Set<String> getSelectedFields(AnActionEvent event, PsiClass psiClass) {
+        final Editor editor = event.getData(CommonDataKeys.EDITOR);
+        final PsiFile psiFile = event.getData(CommonDataKeys.PSI_FILE);
+        if (editor == null || psiFile == null || !editor.getSelectionModel().hasSelection()
+                || !psiFile.equals(psiClass.getContainingFile()))
+            return Collections.emptySet();
+
+        final SelectionModel selectionModel = editor.getSelectionModel();
+        final TextRange selection = new TextRange(selectionModel.getSelectionStart(), selectionModel.getSelectionEnd());
+        final Set<String> fields = new LinkedHashSet<>();
+        for (PsiField field : psiClass.getFields()) {
+            final TextRange range = field.getTextRange();
+            if (range != null && range.intersectsStrict(selection))
+                fields.add(field.getName());
+        }
+
+        return fields;
+    }
+
+    public static VirtualFile[] getFilesFromAction(AnActionEvent event) {
+        final VirtualFile[] files = event.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        return (files == null)
+                ? VirtualFile.EMPTY_ARRAY
+                : files;
+    }
+
     public static void copyToClipboard(String content) {
         final StringSelection selection = new StringSelection(content);
         CopyPasteManager.getInstance().setContents(selection);
@@ -1,8 +1,12 @@
 package io.goodforgod.dummymapper.util;
 
 import io.goodforgod.dummymapper.marker.*;
+import io.goodforgod.dummymapper.model.AnnotationMarker;
+import java.util.Collection;
 import java.util.Map;
 import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * {@link Marker} utils
@@ -37,4 +41,87 @@ public static Stream<MapMarker> streamMapRawMarkers(Map<String, Marker> structur
                 .filter(m -> m instanceof MapMarker && ((MapMarker) m).isRaw())
                 .map(m -> ((MapMarker) m));
     }
+
+    /**
+     * @param marker      to copy
+     * @param annotations for copied marker
+     * @param <T>         type of marker
+     * @return copy of marker with given annotations, inner markers are shared with original
+     */
+    public static @NotNull <T extends Marker> T withAnnotations(@NotNull T marker,
+                                                                @Nullable Collection<AnnotationMarker> annotations) {
+        return copy(marker).setAnnotations(annotations);
+    }
+
+    /**
+     * @param marker     to copy
+     * @param annotation to add to copied marker
+     * @param <T>        type of marker
+     * @return copy of marker with added annotation or same marker if annotation is already present
+     */
+    public static @NotNull <T extends Marker> T withAnnotation(@NotNull T marker, @NotNull AnnotationMarker annotation) {
+        if (marker.hasAnnotation(annotation.getName()))
+            return marker;
+
+        return copy(marker).addAnnotation(annotation);
+    }
+
+    public static @NotNull RawMarker withStructure(@NotNull RawMarker marker, @NotNull Map<String, Marker> structure) {
+        return new RawMarker(marker.getRoot(), marker.getSource(), structure).setAnnotations(marker.getAnnotations());
+    }
+
+    /**
+     * @param marker  to copy
+     * @param names   of fields for copied marker
+     * @param markers of fields in same order as names
+     * @return copy of marker with given structure
+     */
+    public static @NotNull RawMarker withStructure(@NotNull RawMarker marker,
+                                                   @NotNull String[] names,
+                                                   @NotNull Marker[] markers) {
+        return new RawMarker(marker.getRoot(), marker.getSource(), names, markers).setAnnotations(marker.getAnnotations());
+    }
+
+    public static @NotNull CollectionMarker withErasure(@NotNull CollectionMarker marker, @NotNull Marker erasure) {
+        return new CollectionMarker(marker.getRoot(), marker.getSource(), marker.getType(), erasure)
+                .setAnnotations(marker.getAnnotations());
+    }
+
+    public static @NotNull MapMarker withErasures(@NotNull MapMarker marker,
+                                                  @NotNull Marker keyErasure,
+                                                  @NotNull Marker valueErasure) {
+        return new MapMarker(marker.getRoot(), marker.getSource(), marker.getType(), keyErasure, valueErasure)
+                .setAnnotations(marker.getAnnotations());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Marker> T copy(@NotNull T marker) {
+        if (marker instanceof RawMarker) {
+            final RawMarker rawMarker = (RawMarker) marker;
+            final String[] names = new String[rawMarker.size()];
+            final Marker[] markers = new Marker[rawMarker.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = rawMarker.getFieldName(i);
+                markers[i] = rawMarker.getFieldMarker(i);
+            }
+
+            return (T) withStructure(rawMarker, names, markers);
+        } else if (marker instanceof ArrayMarker) {
+            return (T) new ArrayMarker(marker.getRoot(), marker.getSource(), ((ArrayMarker) marker).getErasure())
+                    .setAnnotations(marker.getAnnotations());
+        } else if (marker instanceof CollectionMarker) {
+            return (T) withErasure((CollectionMarker) marker, ((CollectionMarker) marker).getErasure());
+        } else if (marker instanceof MapMarker) {
+            final MapMarker mapMarker = (MapMarker) marker;
+            return (T) withErasures(mapMarker, mapMarker.getKeyErasure(), mapMarker.getValueErasure());
+        } else if (marker instanceof EnumMarker) {
+            return (T) new EnumMarker(marker.getRoot(), marker.getSource(), ((EnumMarker) marker).getValues())
+                    .setAnnotations(marker.getAnnotations());
+        } else if (marker instanceof TypedMarker) {
+            return (T) new TypedMarker(marker.getRoot(), marker.getSource(), ((TypedMarker) marker).getType())
+                    .setAnnotations(marker.getAnnotations());
+        } else {
+            throw new IllegalArgumentException("Unknown marker type: " + marker.getClass());
+        }
+    }
 }
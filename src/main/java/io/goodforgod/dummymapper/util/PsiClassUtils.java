@@ -3,9 +3,9 @@
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.intellij.lang.jvm.JvmModifier;
 import com.intellij.psi.PsiArrayType;
+import com.intellij.psi.PsiClassType;
 import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiType;
-import com.intellij.psi.impl.source.PsiClassReferenceType;
 import com.intellij.psi.impl.source.PsiImmediateClassType;
 import io.dummymaker.util.StringUtils;
 import io.goodforgod.dummymapper.scanner.impl.PsiJavaFileScanner;
@@ -138,10 +138,10 @@ public static boolean isTypeCollection(@NotNull PsiType type) {
     }
 
     public static @Nullable Class<?> getCollectionType(@NotNull PsiType type) {
-        if (!(type instanceof PsiClassReferenceType))
+        if (!(type instanceof PsiClassType))
             return null;
 
-        return COLLECTION_FIELD_TYPES.get(((PsiClassReferenceType) type).rawType().getCanonicalText());
+        return COLLECTION_FIELD_TYPES.get(((PsiClassType) type).rawType().getCanonicalText());
     }
 
     public static boolean isTypeMap(@NotNull PsiType type) {
@@ -149,10 +149,10 @@ public static boolean isTypeMap(@NotNull PsiType type) {
     }
 
     public static @Nullable Class<?> getMapType(@NotNull PsiType type) {
-        if (!(type instanceof PsiClassReferenceType))
+        if (!(type instanceof PsiClassType))
             return null;
 
-        return MAP_FIELD_TYPES.get(((PsiClassReferenceType) type).rawType().getCanonicalText());
+        return MAP_FIELD_TYPES.get(((PsiClassType) type).rawType().getCanonicalText());
     }
 
     public static boolean isTypeSimple(@Nullable String type) {
@@ -0,0 +1,225 @@
+package io.goodforgod.dummymapper.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import io.goodforgod.dummymapper.marker.*;
+import io.goodforgod.dummymapper.model.AnnotationMarker;
+import io.goodforgod.dummymapper.model.AnnotationMarkerBuilder;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.SignatureAttribute;
+import javassist.bytecode.annotation.Annotation;
+import javassist.bytecode.annotation.StringMemberValue;
+
+/**
+ * Compares {@link ClassFactory#build(RawMarker)} with source compilation path it replaced (field
+ * source compiled by {@code CtField.make} for each field), on synthetic markers of nested classes
+ * with simple, enum, collection, map and class fields
+ * <p>
+ * Each iteration builds markers with new sources, so class cache is never hit and each build emits
+ * all its classes. Run with {@code ./gradlew benchmark}.
+ *
+ * @author Anton Kurako (GoodforGod)
+ * @see ClassFactory
+ * @since 17.10.2026
+ */
+public class ClassFactoryBenchmark extends BasePlatformTestCase {
+
+    private static final int CLASSES = 20;
+    private static final int FIELDS = 100;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    public void testBuild() throws Exception {
+        System.out.println(benchmark(CLASSES, FIELDS, WARMUP, ITERATIONS));
+    }
+
+    /**
+     * @param classes    nested classes in each marker
+     * @param fields     fields in each class
+     * @param warmup     iterations before measured ones
+     * @param iterations measured iterations
+     * @return time per build of source compilation and direct emission
+     */
+    static String benchmark(int classes, int fields, int warmup, int iterations) throws Exception {
+        run(false, classes, fields, warmup);
+        run(true, classes, fields, warmup);
+
+        final long sourceNanos = run(false, classes, fields, iterations);
+        final long directNanos = run(true, classes, fields, iterations);
+        return String.format("Classes: %d, fields per class: %d, iterations: %d%n", classes, fields, iterations)
+                + String.format("CtField.make source compilation: %.2f ms per build%n", sourceNanos / 1_000_000.0 / iterations)
+                + String.format("ClassFactory.build:              %.2f ms per build%n", directNanos / 1_000_000.0 / iterations)
+                + String.format("Speedup: %.1fx", (double) sourceNanos / directNanos);
+    }
+
+    /**
+     * @return total nanos to build classes for all iterations, markers are created before measure
+     */
+    private static long run(boolean direct, int classes, int fields, int iterations) throws Exception {
+        final List<RawMarker> markers = new ArrayList<>(iterations);
+        for (int i = 0; i < iterations; i++)
+            markers.add(getMarker("io.goodforgod.dummymapper.benchmark" + COUNTER.incrementAndGet(), classes, fields));
+
+        final long started = System.nanoTime();
+        for (RawMarker marker : markers) {
+            final Class<?> built = (direct)
+                    ? ClassFactory.build(marker).getTarget()
+                    : buildSource(marker);
+            if (built.getDeclaredFields().length != fields)
+                throw new IllegalStateException("Class is built with wrong number of fields: " + built);
+        }
+
+        return System.nanoTime() - started;
+    }
+
+    /**
+     * @param packageName of marker sources
+     * @param classes     number of nested classes, each class references next one
+     * @param fields      in each class
+     * @return root marker
+     */
+    private static RawMarker getMarker(String packageName, int classes, int fields) {
+        RawMarker next = null;
+        for (int c = classes - 1; c >= 0; c--) {
+            final String source = packageName + ".Class" + c + ".java";
+            final Map<String, Marker> structure = new LinkedHashMap<>();
+            for (int i = 0; i < fields; i++) {
+                final String name = "field" + i;
+                final Marker marker;
+                switch (i % 6) {
+                    case 0:
+                        marker = new TypedMarker(source, source, String.class);
+                        break;
+                    case 1:
+                        marker = new TypedMarker(source, source, Long.class);
+                        break;
+                    case 2:
+                        marker = new EnumMarker(source, packageName + ".Type.java", Arrays.asList("FIRST", "SECOND"));
+                        break;
+                    case 3:
+                        marker = new CollectionMarker(source, source, List.class, new TypedMarker(source, source, String.class));
+                        break;
+                    case 4:
+                        marker = new MapMarker(source, source, Map.class, new TypedMarker(source, source, String.class),
+                                new TypedMarker(source, source, Integer.class));
+                        break;
+                    default:
+                        marker = (next == null)
+                                ? new TypedMarker(source, source, Integer.class)
+                                : new RawMarker(source, next);
+                        break;
+                }
+
+                if (i % 5 == 0)
+                    marker.addAnnotation(AnnotationMarkerBuilder.get().ofField()
+                            .withName(JsonProperty.class)
+                            .withAttribute("value", name + "_json")
+                            .build());
+
+                structure.put(name, marker);
+            }
+
+            next = new RawMarker(source, source, structure);
+        }
+
+        return next;
+    }
+
+    /**
+     * Source compilation path: classes are created in class pool and each field is compiled from its
+     * source, classes referenced by fields are created first
+     *
+     * @param marker to build class for
+     * @return class of marker
+     */
+    private static Class<?> buildSource(RawMarker marker) throws Exception {
+        final String packageName = "io.goodforgod.dummymapper.source" + COUNTER.incrementAndGet();
+        final ClassPool pool = new ClassPool(true);
+        final Map<RawMarker, CtClass> classes = new IdentityHashMap<>();
+        final Map<String, RawMarker> sources = new HashMap<>();
+        final CtClass target = buildSource(marker, packageName, pool, classes, sources);
+
+        final DummyClassLoader loader = new DummyClassLoader(ClassFactoryBenchmark.class.getClassLoader());
+        for (CtClass ctClass : new LinkedHashSet<>(classes.values()))
+            loader.add(ctClass.getName(), ctClass.toBytecode());
+        return loader.loadClass(target.getName());
+    }
+
+    private static CtClass buildSource(RawMarker marker,
+                                       String packageName,
+                                       ClassPool pool,
+                                       Map<RawMarker, CtClass> classes,
+                                       Map<String, RawMarker> sources) throws Exception {
+        final RawMarker built = sources.get(marker.getSource());
+        if (built != null)
+            return classes.get(built);
+
+        final String source = marker.getSource();
+        final String simpleName = source.substring(source.lastIndexOf('.', source.length() - 6) + 1, source.length() - 5);
+        final CtClass ownClass = pool.makeClass(packageName + "." + simpleName);
+        classes.put(marker, ownClass);
+        sources.put(source, marker);
+
+        for (int i = 0; i < marker.size(); i++) {
+            final String fieldName = marker.getFieldName(i);
+            final Marker fieldMarker = marker.getFieldMarker(i);
+            final CtField field;
+            if (fieldMarker instanceof CollectionMarker) {
+                final CollectionMarker collection = (CollectionMarker) fieldMarker;
+                final String erasure = ((TypedMarker) collection.getErasure()).getType().getName();
+                field = CtField.make(String.format("public %s %s;", collection.getType().getName(), fieldName), ownClass);
+                field.setGenericSignature(new SignatureAttribute.ClassType(collection.getType().getName(),
+                        new SignatureAttribute.TypeArgument[] {
+                                new SignatureAttribute.TypeArgument(new SignatureAttribute.ClassType(erasure)) })
+                        .encode());
+            } else if (fieldMarker instanceof MapMarker) {
+                final MapMarker map = (MapMarker) fieldMarker;
+                final String keyErasure = ((TypedMarker) map.getKeyErasure()).getType().getName();
+                final String valueErasure = ((TypedMarker) map.getValueErasure()).getType().getName();
+                field = CtField.make(String.format("public %s %s;", map.getType().getName(), fieldName), ownClass);
+                field.setGenericSignature(new SignatureAttribute.ClassType(map.getType().getName(),
+                        new SignatureAttribute.TypeArgument[] {
+                                new SignatureAttribute.TypeArgument(new SignatureAttribute.ClassType(keyErasure)),
+                                new SignatureAttribute.TypeArgument(new SignatureAttribute.ClassType(valueErasure)) })
+                        .encode());
+            } else if (fieldMarker instanceof TypedMarker) {
+                final String type = ((TypedMarker) fieldMarker).getType().getName();
+                field = CtField.make(String.format("public %s %s;", type, fieldName), ownClass);
+            } else if (fieldMarker instanceof EnumMarker) {
+                field = CtField.make(String.format("public java.lang.String %s;", fieldName), ownClass);
+            } else {
+                final CtClass fieldClass = buildSource((RawMarker) fieldMarker, packageName, pool, classes, sources);
+                field = CtField.make(String.format("public %s %s;", fieldClass.getName(), fieldName), ownClass);
+            }
+
+            addAnnotations(field, fieldMarker);
+            ownClass.addField(field);
+        }
+
+        return ownClass;
+    }
+
+    private static void addAnnotations(CtField field, Marker marker) {
+        if (marker.getAnnotations().isEmpty())
+            return;
+
+        final ConstPool constPool = field.getFieldInfo().getConstPool();
+        final AnnotationsAttribute attribute = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
+        for (AnnotationMarker annotationMarker : marker.getAnnotations()) {
+            final Annotation annotation = new Annotation(annotationMarker.getName(), constPool);
+            annotationMarker.getAttributes().forEach((n, v) -> annotation
+                    .addMemberValue(n, new StringMemberValue(String.valueOf(v), constPool)));
+            attribute.addAnnotation(annotation);
+        }
+
+        field.getFieldInfo().addAttribute(attribute);
+    }
+}